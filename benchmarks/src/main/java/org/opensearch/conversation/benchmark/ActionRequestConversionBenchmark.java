@@ -0,0 +1,99 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversation.input.ChatInput;
+import org.opensearch.conversation.request.ChatRequest;
+import org.opensearch.conversation.request.GetSessionHistoryRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of requests with fromActionRequest. A request of the plugin's own class takes the fast path, a request
+ * of another class (as seen when it crosses plugin class loaders) goes through a serialization round trip.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ActionRequestConversionBenchmark {
+    private ChatRequest chatRequest;
+    private ActionRequest foreignChatRequest;
+    private GetSessionHistoryRequest historyRequest;
+    private ActionRequest foreignHistoryRequest;
+
+    @Setup
+    public void setup() {
+        ChatInput chatInput = ChatInput
+            .builder()
+            .sessionId("tP1n9IgBXo3mXJ0VnkDw")
+            .modelId("llm")
+            .parameters(Map.of("question", Fixtures.text(256)))
+            .build();
+        chatRequest = new ChatRequest(chatInput);
+        foreignChatRequest = new ForeignRequest(chatRequest);
+        historyRequest = new GetSessionHistoryRequest("tP1n9IgBXo3mXJ0VnkDw", 0, 10);
+        foreignHistoryRequest = new ForeignRequest(historyRequest);
+    }
+
+    @Benchmark
+    public ChatRequest chatRequestSameClass() {
+        return ChatRequest.fromActionRequest(chatRequest);
+    }
+
+    @Benchmark
+    public ChatRequest chatRequestRoundTrip() {
+        return ChatRequest.fromActionRequest(foreignChatRequest);
+    }
+
+    @Benchmark
+    public GetSessionHistoryRequest historyRequestSameClass() {
+        return GetSessionHistoryRequest.fromActionRequest(historyRequest);
+    }
+
+    @Benchmark
+    public GetSessionHistoryRequest historyRequestRoundTrip() {
+        return GetSessionHistoryRequest.fromActionRequest(foreignHistoryRequest);
+    }
+
+    /**
+     * Request of an unrelated class with the same wire format.
+     */
+    private static class ForeignRequest extends ActionRequest {
+        private final ActionRequest delegate;
+
+        ForeignRequest(ActionRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ActionRequestValidationException validate() {
+            return null;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            delegate.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.conversation.ml.AnswerExtractor;
+import org.opensearch.ml.common.output.model.ModelTensor;
+import org.opensearch.ml.common.output.model.ModelTensorOutput;
+import org.opensearch.ml.common.output.model.ModelTensors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Extraction of the answer text from the output of a remote model, shaped like a chat completion response.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class AnswerExtractionBenchmark {
+    @Param({ "256", "8192" })
+    private int answerLength;
+
+    // Empty tries the well-known output shapes
+    @Param({ "", "choices.0.message.content" })
+    private String answerPath;
+
+    private ModelTensorOutput output;
+    private String[] path;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> message = Map.of("role", "assistant", "content", Fixtures.text(answerLength));
+        Map<String, Object> dataAsMap = Map
+            .of(
+                "id",
+                "chatcmpl-7hq3",
+                "object",
+                "chat.completion",
+                "choices",
+                List.of(Map.of("index", 0, "message", message, "finish_reason", "stop")),
+                "usage",
+                Map.of("prompt_tokens", 412, "completion_tokens", answerLength / 4, "total_tokens", 412 + answerLength / 4)
+            );
+        ModelTensor tensor = ModelTensor.builder().name("response").dataAsMap(dataAsMap).build();
+        output = ModelTensorOutput
+            .builder()
+            .mlModelOutputs(List.of(ModelTensors.builder().mlModelTensors(List.of(tensor)).build()))
+            .build();
+        path = AnswerExtractor.parsePath(answerPath);
+    }
+
+    @Benchmark
+    public String extract() throws IOException {
+        return AnswerExtractor.extract(output, path);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.benchmark;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.conversation.memory.ConversationTurn;
+import org.opensearch.conversation.plugin.ConversationPlugin;
+import org.opensearch.conversation.prompt.ChatHistoryAssembler;
+import org.opensearch.threadpool.ThreadPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Assembly of the chat history of a prompt from the recent turns of a session.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChatHistoryAssemblerBenchmark {
+    @Param({ "10", "50" })
+    private int turnCount;
+
+    @Param({ "256", "2048" })
+    private int textLength;
+
+    @Param({ "1000", "100000" })
+    private int tokenBudget;
+
+    private ThreadPool threadPool;
+    private ChatHistoryAssembler assembler;
+    private List<ConversationTurn> turns;
+    private String summary;
+
+    @Setup
+    public void setup() {
+        Settings settings = Settings
+            .builder()
+            .put("node.name", "benchmark")
+            .put("plugins.conversation.chat_history.token_budget", tokenBudget)
+            .build();
+        Set<Setting<?>> settingSet = new HashSet<>(ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        settingSet.addAll(new ConversationPlugin().getSettings());
+        threadPool = new ThreadPool(settings);
+        ClusterService clusterService = new ClusterService(settings, new ClusterSettings(settings, settingSet), threadPool);
+        assembler = new ChatHistoryAssembler(settings, clusterService);
+        turns = Fixtures.turns(turnCount, textLength);
+        summary = Fixtures.text(textLength);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public String assemble() {
+        return assembler.assemble("llm", turns);
+    }
+
+    @Benchmark
+    public String assembleWithSummary() {
+        return assembler.assemble("llm", summary, turns);
+    }
+}
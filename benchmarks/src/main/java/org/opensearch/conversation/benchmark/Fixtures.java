@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.benchmark;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.opensearch.conversation.memory.ConversationTurn;
+
+/**
+ * Test data shared by the benchmarks.
+ */
+final class Fixtures {
+    private static final String WORDS = "how does the index sort interact with routing when sessions roll over ";
+
+    private Fixtures() {}
+
+    /**
+     * Plain text of the given length, made of words so token estimates behave as on real prompts.
+     */
+    static String text(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(WORDS, 0, Math.min(WORDS.length(), length - sb.length()));
+        }
+        return sb.toString();
+    }
+
+    static List<ConversationTurn> turns(int count, int textLength) {
+        List<ConversationTurn> turns = new ArrayList<>(count);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            turns
+                .add(
+                    ConversationTurn
+                        .builder()
+                        .question(text(textLength))
+                        .answer(text(textLength))
+                        .createdTime(Instant.ofEpochMilli(now - (count - i) * 1000L))
+                        .build()
+                );
+        }
+        return turns;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.conversation.response.GetSessionHistoryResponse;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of a history page, on the transport layer and as the REST response body.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GetSessionHistoryResponseBenchmark {
+    @Param({ "10", "100" })
+    private int steps;
+
+    @Param({ "256", "4096" })
+    private int textLength;
+
+    private GetSessionHistoryResponse response;
+
+    @Setup
+    public void setup() {
+        List<GetSessionHistoryResponse.Element> elements = Fixtures
+            .turns(steps, textLength)
+            .stream()
+            .map(
+                turn -> GetSessionHistoryResponse.Element
+                    .builder()
+                    .question(turn.getQuestion())
+                    .answer(turn.getAnswer())
+                    .createdTime(turn.getCreatedTime())
+                    .build()
+            )
+            .collect(Collectors.toList());
+        response = GetSessionHistoryResponse.builder().sessionId("tP1n9IgBXo3mXJ0VnkDw").steps(elements).build();
+    }
+
+    @Benchmark
+    public BytesReference writeTo() throws IOException {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            response.writeTo(out);
+            return out.bytes();
+        }
+    }
+
+    @Benchmark
+    public BytesReference toXContent() throws IOException {
+        try (XContentBuilder builder = JsonXContent.contentBuilder()) {
+            response.toXContent(builder, ToXContent.EMPTY_PARAMS);
+            return BytesReference.bytes(builder);
+        }
+    }
+}
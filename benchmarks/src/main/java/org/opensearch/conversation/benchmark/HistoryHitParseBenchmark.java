@@ -0,0 +1,82 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.benchmark;
+
+import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.conversation.memory.ConversationTurn;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading a turn from the source of a history hit, through a map of the whole source as {@code SearchHit#getSourceAsMap}
+ * does, and with the streaming parse of {@link ConversationTurn#fromSource}. Run with {@code -prof gc} to compare the
+ * allocation per hit.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class HistoryHitParseBenchmark {
+    @Param({ "256", "4096" })
+    private int textLength;
+
+    private BytesReference source;
+
+    @Setup
+    public void setup() throws IOException {
+        try (XContentBuilder builder = JsonXContent.contentBuilder()) {
+            builder.startObject();
+            builder.field("session_id", "tP1n9IgBXo3mXJ0VnkDw");
+            builder.field("message_id", "Y2hhdC1tZXNzYWdlLTE");
+            builder.field(QUESTION_FIELD, Fixtures.text(textLength));
+            builder.field(ANSWER_FIELD, Fixtures.text(textLength));
+            builder.field(CREATED_TIME_FIELD, System.currentTimeMillis());
+            builder.endObject();
+            source = BytesReference.bytes(builder);
+        }
+    }
+
+    @Benchmark
+    public ConversationTurn sourceAsMap() {
+        Map<String, Object> sourceAsMap = XContentHelper.convertToMap(source, false, XContentType.JSON).v2();
+        Object createdTime = sourceAsMap.get(CREATED_TIME_FIELD);
+        return ConversationTurn
+            .builder()
+            .question((String) sourceAsMap.get(QUESTION_FIELD))
+            .answer((String) sourceAsMap.get(ANSWER_FIELD))
+            .createdTime(createdTime == null ? null : Instant.ofEpochMilli(((Number) createdTime).longValue()))
+            .build();
+    }
+
+    @Benchmark
+    public ConversationTurn streamingParse() throws IOException {
+        return ConversationTurn.fromSource(source);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.action;
+
+import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
+import static org.opensearch.conversation.settings.ConversationSettings.SESSION_MAX_QUEUED_TURNS;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Strings;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.lease.Releasables;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.AbstractRunnable;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.conversation.input.ChatInput;
+import org.opensearch.conversation.response.ChatResponse;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Keeps concurrent chat requests of one session from racing each other on this node.
+ *
+ * Turns of a session run one after the other, so each one sees the turns before it and they are appended in order.
+ * A turn holds its session until it releases it, the next queued turn then runs on the generic thread pool. A session
+ * queues at most {@code plugins.conversation.session.max_queued_turns} turns, further ones are rejected with a 429.
+ *
+ * A request identical to one in flight, i.e. from the same user with the same idempotency key, or without one the same
+ * session, model and question, doesn't run again but gets the response of the one in flight. Responses to requests
+ * with an idempotency key are kept for a few minutes, so a late retry gets the same answer too.
+ *
+ * Queues and in-flight requests are kept per session in concurrent maps, so only requests of the same session contend.
+ */
+@Log4j2
+public class ChatRequestCoalescer {
+    private static final TimeValue COMPLETED_TTL = TimeValue.timeValueMinutes(5);
+    private static final long MAX_COMPLETED = 10_000;
+
+    private final ThreadPool threadPool;
+    // Turns waiting for the running turn of their session, the running turn isn't in the queue
+    private final Map<String, ArrayDeque<AbstractRunnable>> sessionQueues = new ConcurrentHashMap<>();
+    // Listeners of the requests sharing an in-flight request, by request key
+    private final Map<String, List<ActionListener<ChatResponse>>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, ChatResponse> completed = CacheBuilder
+        .<String, ChatResponse>builder()
+        .setMaximumWeight(MAX_COMPLETED)
+        .setExpireAfterWrite(COMPLETED_TTL)
+        .build();
+
+    private final CounterMetric coalesced = new CounterMetric();
+    private final CounterMetric replayed = new CounterMetric();
+    private final CounterMetric queued = new CounterMetric();
+
+    private volatile int maxQueuedTurns;
+
+    public ChatRequestCoalescer(Settings settings, ClusterService clusterService, ThreadPool threadPool) {
+        this.threadPool = threadPool;
+        this.maxQueuedTurns = SESSION_MAX_QUEUED_TURNS.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SESSION_MAX_QUEUED_TURNS, it -> maxQueuedTurns = it);
+    }
+
+    /**
+     * Run a chat request, after the requests of its session that came before it, unless an identical one is in flight.
+     * @param chatInput input of the request
+     * @param owner user making the request, null without security
+     * @param listener notified with the response of the request
+     * @param chat runs the request while it holds the session, it must notify the listener it is given and release the
+     *             session, once the next turn of the session can see this one
+     */
+    public void execute(
+        ChatInput chatInput,
+        String owner,
+        ActionListener<ChatResponse> listener,
+        BiConsumer<ActionListener<ChatResponse>, Releasable> chat
+    ) {
+        String requestKey = requestKey(chatInput, owner);
+        if (requestKey == null) {
+            runInSession(chatInput.getSessionId(), listener, chat);
+            return;
+        }
+
+        ChatResponse response = completed.get(requestKey);
+        if (response != null) {
+            replayed.inc();
+            listener.onResponse(response);
+            return;
+        }
+        boolean[] first = new boolean[1];
+        inFlight.compute(requestKey, (key, listeners) -> {
+            if (listeners == null) {
+                first[0] = true;
+                listeners = new ArrayList<>();
+            }
+            listeners.add(listener);
+            return listeners;
+        });
+        if (!first[0]) {
+            coalesced.inc();
+            log.debug("Chat request {} joined the identical request in flight", requestKey);
+            return;
+        }
+
+        boolean idempotent = chatInput.getRequestId() != null;
+        runInSession(chatInput.getSessionId(), ActionListener.wrap(r -> {
+            if (idempotent) {
+                completed.put(requestKey, r);
+            }
+            ActionListener.onResponse(inFlight.remove(requestKey), r);
+        }, e -> ActionListener.onFailure(inFlight.remove(requestKey), e)), chat);
+    }
+
+    private void runInSession(
+        String sessionId,
+        ActionListener<ChatResponse> listener,
+        BiConsumer<ActionListener<ChatResponse>, Releasable> chat
+    ) {
+        acquireSession(sessionId, ActionListener.wrap(session -> chat.accept(listener, session), listener::onFailure));
+    }
+
+    public long getCoalesced() {
+        return coalesced.count();
+    }
+
+    public long getReplayed() {
+        return replayed.count();
+    }
+
+    public long getQueued() {
+        return queued.count();
+    }
+
+    /**
+     * Hold a session, after the turns of the session that came before, and before the ones after.
+     * @param sessionId the session, a new session is held right away and its releasable does nothing
+     * @param listener notified with the releasable of the session once it is held, it must be released once the
+     *                 session can take the next turn. Failed if the queue of the session is full.
+     */
+    public void acquireSession(String sessionId, ActionListener<Releasable> listener) {
+        if (Strings.isNullOrEmpty(sessionId)) {
+            // A new session, nothing to order against
+            listener.onResponse(() -> {});
+            return;
+        }
+        Releasable session = Releasables.releaseOnce(() -> runNext(sessionId));
+        AbstractRunnable turn = new AbstractRunnable() {
+            @Override
+            public void onFailure(Exception e) {
+                session.close();
+                listener.onFailure(e);
+            }
+
+            @Override
+            protected void doRun() {
+                listener.onResponse(session);
+            }
+        };
+        boolean[] runNow = new boolean[1];
+        boolean[] full = new boolean[1];
+        sessionQueues.compute(sessionId, (key, queue) -> {
+            if (queue == null) {
+                runNow[0] = true;
+                return new ArrayDeque<>();
+            }
+            if (queue.size() >= maxQueuedTurns) {
+                full[0] = true;
+            } else {
+                queue.add(turn);
+            }
+            return queue;
+        });
+        if (full[0]) {
+            listener
+                .onFailure(
+                    new OpenSearchRejectedExecutionException(
+                        "Session [" + sessionId + "] already has " + maxQueuedTurns + " turns queued, try again later"
+                    )
+                );
+        } else if (runNow[0]) {
+            turn.run();
+        } else {
+            queued.inc();
+        }
+    }
+
+    private void runNext(String sessionId) {
+        AbstractRunnable[] next = new AbstractRunnable[1];
+        sessionQueues.compute(sessionId, (key, queue) -> {
+            next[0] = queue == null ? null : queue.poll();
+            return next[0] == null ? null : queue;
+        });
+        if (next[0] != null) {
+            // Forked, so that a run of turns failing right away doesn't recurse once per queued turn
+            threadPool.generic().execute(next[0]);
+        }
+    }
+
+    private static String requestKey(ChatInput chatInput, String owner) {
+        String sessionId = Strings.isNullOrEmpty(chatInput.getSessionId()) ? "" : chatInput.getSessionId();
+        // Responses are only shared between requests of the same user
+        String user = owner == null ? "" : owner;
+        if (chatInput.getRequestId() != null) {
+            return user + '\n' + sessionId + '\n' + chatInput.getRequestId();
+        }
+        String question = chatInput.getParameters() == null ? null : chatInput.getParameters().get(QUESTION_FIELD);
+        if (sessionId.isEmpty() || question == null) {
+            // Identical questions starting new sessions are not assumed to be retries
+            return null;
+        }
+        return user + '\n' + sessionId + '\n' + chatInput.getModelId() + '\n' + question;
+    }
+}
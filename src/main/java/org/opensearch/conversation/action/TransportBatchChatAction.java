@@ -0,0 +1,452 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.action;
+
+import static org.opensearch.conversation.common.CommonValue.CHAT_THREAD_POOL;
+import static org.opensearch.conversation.settings.ConversationSettings.BATCH_MAX_CONCURRENT_PREDICTS;
+import static org.opensearch.conversation.settings.ConversationSettings.BATCH_TIMEOUT;
+import static org.opensearch.conversation.stats.ConversationStats.BATCH_CHAT;
+import static org.opensearch.conversation.stats.ConversationStats.BATCH_WRITE;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Strings;
+import org.opensearch.common.UUIDs;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.AbstractRunnable;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversation.action.TransportChatAction.AnsweredTurn;
+import org.opensearch.conversation.common.StageTimer;
+import org.opensearch.conversation.common.UserContext;
+import org.opensearch.conversation.input.ChatInput;
+import org.opensearch.conversation.memory.ConversationSummarizer;
+import org.opensearch.conversation.memory.ConversationTurn;
+import org.opensearch.conversation.memory.RecentTurnsCache;
+import org.opensearch.conversation.request.BatchChatRequest;
+import org.opensearch.conversation.response.BatchChatResponse;
+import org.opensearch.conversation.stats.ChatSlowLog;
+import org.opensearch.conversation.stats.ConversationStats;
+import org.opensearch.conversation.transport.BatchChatAction;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Answers the items of a batch chat request and stores the resulting turns in bulk requests.
+ *
+ * Each item is answered like a single chat turn, with at most {@code max_concurrent_predicts} sessions waiting on the
+ * model at once. An item whose predict or write fails doesn't fail the others, its result carries the error instead.
+ *
+ * Items of an existing session are answered one after the other while they hold the session, see
+ * {@link ChatRequestCoalescer#acquireSession}, each one from the history of the session and the items of the batch
+ * before it. Their messages and the last updated time of the session are written in one bulk request before the
+ * session is released, so a chat turn queued behind them sees them. Items starting new sessions are answered
+ * concurrently, and written together with their sessions in a single bulk request once every other item is done.
+ *
+ * Items not answered within {@code plugins.conversation.batch.timeout} fail, the others are still stored.
+ */
+@Log4j2
+public class TransportBatchChatAction extends HandledTransportAction<ActionRequest, BatchChatResponse> {
+    private static final String STAGE_ANSWER = "answer";
+    private static final String STAGE_WRITE = "bulk_write";
+
+    private final TransportChatAction chatAction;
+    private final ChatRequestCoalescer coalescer;
+    private final RecentTurnsCache recentTurnsCache;
+    private final ConversationSummarizer summarizer;
+    private final ConversationStats stats;
+    private final ChatSlowLog slowLog;
+    private final Client client;
+
+    private volatile int maxConcurrentPredicts;
+    private volatile TimeValue timeout;
+
+    @Inject
+    public TransportBatchChatAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ClusterService clusterService,
+        TransportChatAction chatAction,
+        ChatRequestCoalescer coalescer,
+        RecentTurnsCache recentTurnsCache,
+        ConversationSummarizer summarizer,
+        ConversationStats stats,
+        ChatSlowLog slowLog,
+        Client client
+    ) {
+        super(BatchChatAction.NAME, transportService, actionFilters, BatchChatRequest::new);
+        this.chatAction = chatAction;
+        this.coalescer = coalescer;
+        this.recentTurnsCache = recentTurnsCache;
+        this.summarizer = summarizer;
+        this.stats = stats;
+        this.slowLog = slowLog;
+        this.client = client;
+        this.maxConcurrentPredicts = BATCH_MAX_CONCURRENT_PREDICTS.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(BATCH_MAX_CONCURRENT_PREDICTS, it -> maxConcurrentPredicts = it);
+        this.timeout = BATCH_TIMEOUT.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(BATCH_TIMEOUT, it -> timeout = it);
+    }
+
+    @Override
+    protected void doExecute(Task task, ActionRequest request, ActionListener<BatchChatResponse> listener) {
+        BatchChatRequest batchChatRequest = BatchChatRequest.fromActionRequest(request);
+        String owner = UserContext.currentUser(client.threadPool().getThreadContext());
+        ActionListener<BatchChatResponse> timedListener = stats.timed(BATCH_CHAT, listener);
+        Batch batch = new Batch(batchChatRequest.getItems(), owner, task, timedListener);
+        client.threadPool().executor(CHAT_THREAD_POOL).execute(new AbstractRunnable() {
+            @Override
+            public void onFailure(Exception e) {
+                timedListener.onFailure(e);
+            }
+
+            @Override
+            protected void doRun() {
+                batch.start(maxConcurrentPredicts, timeout);
+            }
+        });
+    }
+
+    /**
+     * Items of a batch answered one after the other while they hold their session.
+     */
+    private static class Unit {
+        // Null for an item starting a new session
+        private final String sessionId;
+        private final List<Integer> items = new ArrayList<>();
+        // Taken by whoever writes the answered items of the unit and releases its session: the unit once its items
+        // are answered, or the timeout of the batch
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile Releasable session;
+
+        Unit(String sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+
+    /**
+     * State of one batch request. Answered turns and results are indexed like the items of the request, and written
+     * under the lock of the batch. Answers arriving once the batch is finished, i.e. done or timed out, are dropped.
+     */
+    private class Batch {
+        private final List<ChatInput> items;
+        private final String owner;
+        private final Task task;
+        private final ActionListener<BatchChatResponse> listener;
+        private final StageTimer timer = new StageTimer();
+        private final AnsweredTurn[] answered;
+        private final BatchChatResponse.Item[] results;
+        // All items of an existing session form one unit, every item starting a new session is a unit of its own
+        private final List<Unit> units = new ArrayList<>();
+        // Items starting new sessions, written together once every unit is done
+        private final List<Integer> newSessionItems = new ArrayList<>();
+        private final AtomicInteger nextUnit = new AtomicInteger();
+        private final AtomicInteger unfinishedUnits;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile TimeValue timeout;
+        private volatile Scheduler.ScheduledCancellable timeoutTask;
+
+        Batch(List<ChatInput> items, String owner, Task task, ActionListener<BatchChatResponse> listener) {
+            this.items = items;
+            this.owner = owner;
+            this.task = task;
+            this.listener = listener;
+            this.answered = new AnsweredTurn[items.size()];
+            this.results = new BatchChatResponse.Item[items.size()];
+            Map<String, Unit> sessions = new LinkedHashMap<>();
+            for (int i = 0; i < items.size(); i++) {
+                String sessionId = items.get(i).getSessionId();
+                if (Strings.isNullOrEmpty(sessionId)) {
+                    Unit unit = new Unit(null);
+                    unit.items.add(i);
+                    units.add(unit);
+                    newSessionItems.add(i);
+                } else {
+                    sessions.computeIfAbsent(sessionId, Unit::new).items.add(i);
+                }
+            }
+            units.addAll(sessions.values());
+            this.unfinishedUnits = new AtomicInteger(units.size());
+        }
+
+        void start(int concurrency, TimeValue timeout) {
+            this.timeout = timeout;
+            timeoutTask = client.threadPool().schedule(this::onTimeout, timeout, ThreadPool.Names.GENERIC);
+            for (int i = 0; i < Math.min(concurrency, units.size()); i++) {
+                answerNextUnit();
+            }
+        }
+
+        /**
+         * Answer the items of the next unit not started yet. Every finished unit starts the next one, so the number of
+         * units waiting on the model stays at the concurrency the batch started with.
+         *
+         * The unit of a session runs once it holds the session, so its items are ordered with the chat turns of that
+         * session sent meanwhile, and each one sees the items of the batch before it.
+         */
+        private void answerNextUnit() {
+            int next = nextUnit.getAndIncrement();
+            if (next >= units.size() || finished.get()) {
+                return;
+            }
+            Unit unit = units.get(next);
+            coalescer.acquireSession(unit.sessionId, ActionListener.wrap(session -> {
+                unit.session = session;
+                if (finished.get()) {
+                    // The batch timed out while the unit waited for its session
+                    if (unit.claimed.compareAndSet(false, true)) {
+                        session.close();
+                    }
+                    return;
+                }
+                answerInOrder(unit, 0, new ArrayList<>());
+            }, e -> {
+                fail(unit.items, e);
+                onUnitDone();
+            }));
+        }
+
+        private void answerInOrder(Unit unit, int position, List<ConversationTurn> pendingTurns) {
+            if (position == unit.items.size() || finished.get()) {
+                onUnitAnswered(unit);
+                return;
+            }
+            int index = unit.items.get(position);
+            ChatInput item = items.get(index);
+            ActionListener<AnsweredTurn> itemListener = ActionListener.wrap(turn -> {
+                synchronized (this) {
+                    if (!finished.get()) {
+                        answered[index] = turn;
+                    }
+                }
+                pendingTurns.add(turn.getTurn());
+                answerInOrder(unit, position + 1, pendingTurns);
+            }, e -> {
+                log.debug("Failed to answer item {} of batch chat request", index, e);
+                fail(List.of(index), e);
+                answerInOrder(unit, position + 1, pendingTurns);
+            });
+            try {
+                chatAction.answer(item, owner, pendingTurns, new StageTimer(), itemListener);
+            } catch (Exception e) {
+                itemListener.onFailure(e);
+            }
+        }
+
+        /**
+         * Write the turns of a session before releasing it, so that the next turn of the session sees them. New
+         * sessions can't be seen by other turns yet, they are written all together once every unit is done.
+         */
+        private void onUnitAnswered(Unit unit) {
+            if (!unit.claimed.compareAndSet(false, true)) {
+                // The batch timed out, the timeout writes the unit
+                return;
+            }
+            if (unit.sessionId == null) {
+                onUnitDone();
+                return;
+            }
+            write(unit.items, () -> {
+                unit.session.close();
+                onUnitDone();
+            });
+        }
+
+        private void onUnitDone() {
+            if (unfinishedUnits.decrementAndGet() == 0) {
+                finish();
+            } else {
+                answerNextUnit();
+            }
+        }
+
+        private void finish() {
+            synchronized (this) {
+                if (finished.get()) {
+                    return;
+                }
+                finished.set(true);
+            }
+            timeoutTask.cancel();
+            timer.mark(STAGE_ANSWER);
+            write(newSessionItems, () -> {
+                timer.mark(STAGE_WRITE);
+                respond();
+            });
+        }
+
+        /**
+         * Stop answering, write the turns answered so far and release the sessions held, so a model that never answers
+         * can't hold the batch or the queues of its sessions. The items without a result fail.
+         */
+        private void onTimeout() {
+            synchronized (this) {
+                if (finished.get()) {
+                    return;
+                }
+                finished.set(true);
+            }
+            log.warn("Batch chat request timed out after {}, storing the items answered so far", timeout);
+            List<Unit> running = new ArrayList<>();
+            List<Integer> pending = new ArrayList<>(newSessionItems);
+            for (Unit unit : units) {
+                // A unit holding its session that hasn't written its items yet
+                if (unit.session != null && unit.claimed.compareAndSet(false, true)) {
+                    running.add(unit);
+                    if (unit.sessionId != null) {
+                        pending.addAll(unit.items);
+                    }
+                }
+            }
+            write(pending, () -> {
+                running.forEach(unit -> unit.session.close());
+                respond();
+            });
+        }
+
+        /**
+         * Write the turns of the given items that were answered in one bulk request. A new session is created with its
+         * first turn, and an existing session is touched once, with its latest turn.
+         * @param after run once the write is done, whether it succeeded or not
+         */
+        private void write(List<Integer> indices, Runnable after) {
+            String[] sessionIds = new String[items.size()];
+            int[] sessionSlots = new int[items.size()];
+            int[] messageSlots = new int[items.size()];
+            Map<String, ConversationTurn> touchedSessions = new LinkedHashMap<>();
+            BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(chatAction.turnRefreshPolicy());
+            List<Integer> written = new ArrayList<>(indices.size());
+            synchronized (this) {
+                for (int i : indices) {
+                    if (answered[i] == null) {
+                        continue;
+                    }
+                    written.add(i);
+                    ChatInput item = items.get(i);
+                    ConversationTurn turn = answered[i].getTurn();
+                    boolean newSession = Strings.isNullOrEmpty(item.getSessionId());
+                    sessionIds[i] = newSession ? UUIDs.base64UUID() : item.getSessionId();
+                    sessionSlots[i] = -1;
+                    if (newSession) {
+                        sessionSlots[i] = bulkRequest.numberOfActions();
+                        bulkRequest.add(TransportChatAction.newSessionRequest(item, owner, sessionIds[i], turn));
+                    } else {
+                        touchedSessions.put(sessionIds[i], turn);
+                    }
+                    messageSlots[i] = bulkRequest.numberOfActions();
+                    bulkRequest.add(TransportChatAction.newMessageRequest(sessionIds[i], UUIDs.base64UUID(), turn));
+                }
+            }
+            if (written.isEmpty()) {
+                after.run();
+                return;
+            }
+            touchedSessions.forEach((sessionId, turn) -> bulkRequest.add(TransportChatAction.touchSessionRequest(sessionId, turn)));
+
+            chatAction.initIndices(ActionListener.wrap(indicesReady -> {
+                try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                    ActionListener<BulkResponse> bulkListener = ActionListener.wrap(r -> {
+                        onStored(written, sessionIds, sessionSlots, messageSlots, r.getItems());
+                        after.run();
+                    }, e -> {
+                        log.error("Failed to store turns of batch chat request", e);
+                        fail(written, e);
+                        after.run();
+                    });
+                    client.bulk(bulkRequest, ActionListener.runBefore(stats.timed(BATCH_WRITE, bulkListener), context::restore));
+                }
+            }, e -> {
+                fail(written, e);
+                after.run();
+            }));
+        }
+
+        private synchronized void onStored(
+            List<Integer> written,
+            String[] sessionIds,
+            int[] sessionSlots,
+            int[] messageSlots,
+            BulkItemResponse[] bulkItems
+        ) {
+            for (int i : written) {
+                boolean newSession = sessionSlots[i] >= 0;
+                BulkItemResponse sessionItem = newSession ? bulkItems[sessionSlots[i]] : null;
+                BulkItemResponse messageItem = bulkItems[messageSlots[i]];
+                if (sessionItem != null
+                    && sessionItem.isFailed()
+                    && !(sessionItem.getFailure().getCause() instanceof VersionConflictEngineException)) {
+                    results[i] = BatchChatResponse.Item.failure(null, sessionItem.getFailure().getCause());
+                    continue;
+                }
+                if (messageItem.isFailed()) {
+                    results[i] = BatchChatResponse.Item.failure(newSession ? null : sessionIds[i], messageItem.getFailure().getCause());
+                    continue;
+                }
+                ChatInput item = items.get(i);
+                AnsweredTurn turn = answered[i];
+                results[i] = BatchChatResponse.Item.success(sessionIds[i], turn.getTurn().getAnswer());
+                recentTurnsCache.append(sessionIds[i], turn.getTurn(), newSession);
+                summarizer
+                    .maybeSummarize(
+                        sessionIds[i],
+                        item.getModelId(),
+                        turn.getSummary(),
+                        TransportChatAction.withTurn(turn.getHistory(), turn.getTurn())
+                    );
+            }
+        }
+
+        private synchronized void fail(List<Integer> indices, Exception e) {
+            for (int i : indices) {
+                results[i] = BatchChatResponse.Item.failure(items.get(i).getSessionId(), e);
+            }
+        }
+
+        private void respond() {
+            List<BatchChatResponse.Item> response = new ArrayList<>(items.size());
+            synchronized (this) {
+                Exception timedOut = null;
+                for (int i = 0; i < items.size(); i++) {
+                    if (results[i] == null) {
+                        if (timedOut == null) {
+                            timedOut = new OpenSearchStatusException(
+                                "Batch chat request timed out after {}",
+                                RestStatus.REQUEST_TIMEOUT,
+                                timeout
+                            );
+                        }
+                        results[i] = BatchChatResponse.Item.failure(items.get(i).getSessionId(), timedOut);
+                    }
+                    response.add(results[i]);
+                }
+            }
+            slowLog.maybeLog(BATCH_CHAT, task, null, timer, null);
+            listener.onResponse(new BatchChatResponse(response));
+        }
+    }
+}
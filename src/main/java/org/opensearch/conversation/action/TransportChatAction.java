@@ -6,72 +6,164 @@
 package org.opensearch.conversation.action;
 
 import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CHAT_HISTORY_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CHAT_HISTORY_ROUNDS;
+import static org.opensearch.conversation.common.CommonValue.CHAT_THREAD_POOL;
 import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.LAST_UPDATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.MESSAGE_ID_FIELD;
 import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX;
 import static org.opensearch.conversation.common.CommonValue.MODEL_ID_FIELD;
+import static org.opensearch.conversation.common.CommonValue.OWNER_FIELD;
 import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX;
 import static org.opensearch.conversation.common.CommonValue.SESSION_TITLE_FIELD;
+import static org.opensearch.conversation.stats.ConversationStats.CHAT;
+import static org.opensearch.conversation.stats.ConversationStats.HISTORY_FETCH;
+import static org.opensearch.conversation.stats.ConversationStats.MESSAGE_WRITE;
+import static org.opensearch.conversation.stats.ConversationStats.METADATA_WRITE;
+import static org.opensearch.conversation.stats.ConversationStats.PREDICT;
+import static org.opensearch.conversation.stats.ConversationStats.PROMPT;
 
-import java.io.ByteArrayOutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 
-import org.apache.commons.lang3.StringUtils;
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRequest;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.StepListener;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.ThreadedActionListener;
 import org.opensearch.action.support.WriteRequest;
+import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.client.Client;
+import org.opensearch.cluster.block.ClusterBlockException;
 import org.opensearch.common.Strings;
+import org.opensearch.common.UUIDs;
 import org.opensearch.common.inject.Inject;
-import org.opensearch.common.io.stream.OutputStreamStreamOutput;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.AbstractRunnable;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversation.common.StageTimer;
+import org.opensearch.conversation.common.UserContext;
 import org.opensearch.conversation.input.ChatInput;
+import org.opensearch.conversation.memory.ConversationSummarizer;
+import org.opensearch.conversation.memory.ConversationTurn;
+import org.opensearch.conversation.memory.RecentTurnsCache;
+import org.opensearch.conversation.memory.SessionSummary;
+import org.opensearch.conversation.memory.opensearch.AsyncPersistence;
+import org.opensearch.conversation.memory.opensearch.BulkIndexBuffer;
 import org.opensearch.conversation.memory.opensearch.OpensearchIndicesHandler;
+import org.opensearch.conversation.memory.opensearch.WriteDurability;
+import org.opensearch.conversation.ml.AnswerCache;
+import org.opensearch.conversation.ml.RemoteModelClient;
+import org.opensearch.conversation.prompt.ChatHistoryAssembler;
 import org.opensearch.conversation.request.ChatRequest;
 import org.opensearch.conversation.response.ChatResponse;
+import org.opensearch.conversation.stats.ChatSlowLog;
+import org.opensearch.conversation.stats.ConversationStats;
 import org.opensearch.conversation.transport.ChatAction;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.engine.VersionConflictEngineException;
 import org.opensearch.index.query.TermQueryBuilder;
-import org.opensearch.ml.client.MachineLearningNodeClient;
-import org.opensearch.ml.common.FunctionName;
-import org.opensearch.ml.common.dataset.remote.RemoteInferenceInputDataSet;
-import org.opensearch.ml.common.input.remote.RemoteInferenceMLInput;
+import org.opensearch.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.sort.SortOrder;
 import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 
+/**
+ * Handles a chat turn as a chain of asynchronous stages: history fetch, prompt assembly, predict, session metadata
+ * write and message write. Every stage starts from the callback of the previous one, so a turn does exactly one
+ * history round-trip and never blocks the thread it runs on. The history sent to the model is bounded by the token
+ * budget of the model.
+ *
+ * A turn is answered once it is stored. With async persistence enabled it is answered right after predict instead,
+ * and both writes run on the persist thread pool. Either way a turn holds its session until it is stored, see
+ * {@link ChatRequestCoalescer}, so the next turn of the session sees it.
+ *
+ * Prompt assembly and response handling run on the conversation-chat thread pool. Its bounded queue only rejects new
+ * turns under overload, the continuations of a turn already admitted are forced onto it, so that a finished predict is
+ * never thrown away.
+ */
 @Log4j2
 public class TransportChatAction extends HandledTransportAction<ActionRequest, ChatResponse> {
+    private static final String STAGE_HISTORY = "history";
+    private static final String STAGE_PROMPT = "prompt";
+    private static final String STAGE_PREDICT = "predict";
+    private static final String STAGE_MESSAGE = "message_write";
+    // Retries of a blocked turn write, long enough to outlast the write block of a message index migration
+    private static final TimeValue BLOCKED_WRITE_RETRY_DELAY = TimeValue.timeValueMillis(500);
+    private static final int BLOCKED_WRITE_MAX_RETRIES = 60;
+
     private final TransportService transportService;
     private final OpensearchIndicesHandler indicesHandler;
+    private final RecentTurnsCache recentTurnsCache;
+    private final BulkIndexBuffer bulkIndexBuffer;
+    private final AsyncPersistence asyncPersistence;
+    private final ChatHistoryAssembler chatHistoryAssembler;
+    private final ConversationSummarizer summarizer;
+    private final RemoteModelClient modelClient;
+    private final AnswerCache answerCache;
+    private final ChatRequestCoalescer coalescer;
+    private final ConversationStats stats;
+    private final ChatSlowLog slowLog;
     private final Client client;
-    private final MachineLearningNodeClient mlClient;
 
     @Inject
     public TransportChatAction(
         TransportService transportService,
         ActionFilters actionFilters,
         OpensearchIndicesHandler indicesHandler,
+        RecentTurnsCache recentTurnsCache,
+        BulkIndexBuffer bulkIndexBuffer,
+        AsyncPersistence asyncPersistence,
+        ChatHistoryAssembler chatHistoryAssembler,
+        ConversationSummarizer summarizer,
+        RemoteModelClient modelClient,
+        AnswerCache answerCache,
+        ChatRequestCoalescer coalescer,
+        ConversationStats stats,
+        ChatSlowLog slowLog,
         Client client
     ) {
         super(ChatAction.NAME, transportService, actionFilters, ChatRequest::new);
         this.transportService = transportService;
         this.indicesHandler = indicesHandler;
+        this.recentTurnsCache = recentTurnsCache;
+        this.bulkIndexBuffer = bulkIndexBuffer;
+        this.asyncPersistence = asyncPersistence;
+        this.chatHistoryAssembler = chatHistoryAssembler;
+        this.summarizer = summarizer;
+        this.modelClient = modelClient;
+        this.answerCache = answerCache;
+        this.coalescer = coalescer;
+        this.stats = stats;
+        this.slowLog = slowLog;
         this.client = client;
-        mlClient = new MachineLearningNodeClient(this.client);
     }
 
     @Override
@@ -81,136 +173,408 @@ public class TransportChatAction extends HandledTransportAction<ActionRequest, C
         if (chatInput.getModelId() == null) {
             throw new IllegalArgumentException("The model id is required.");
         }
+        String owner = UserContext.currentUser(client.threadPool().getThreadContext());
+        coalescer.execute(chatInput, owner, stats.timed(CHAT, listener), (chatListener, session) -> {
+            // A full chat queue rejects the turn with a 429 instead of piling work onto the transport threads.
+            client.threadPool().executor(CHAT_THREAD_POOL).execute(new AbstractRunnable() {
+                @Override
+                public void onFailure(Exception e) {
+                    session.close();
+                    chatListener.onFailure(e);
+                }
 
-        // Get most recent 20 rounds of session history
-        List<String> historicalMessages = new ArrayList<>();
-        if (!Strings.isNullOrEmpty(chatInput.getSessionId())) {
-            int sz = 20;
-            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-                TermQueryBuilder termQueryBuilder = new TermQueryBuilder(SESSION_ID_FIELD, chatInput.getSessionId());
-                SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                searchSourceBuilder.size(sz);
-                searchSourceBuilder.query(termQueryBuilder);
-                searchSourceBuilder.sort(CREATED_TIME_FIELD, SortOrder.DESC);
-                SearchRequest searchRequest = new SearchRequest(MESSAGE_INDEX).source(searchSourceBuilder);
-
-                client.search(searchRequest, ActionListener.runBefore(ActionListener.wrap(r -> {
-                    log.debug("Completed search request to get most recent 20 rounds of session history.");
-                    SearchHit[] hits = r.getHits().getHits();
-                    if (hits != null && hits.length > 0) {
-                        for (int i = Math.min(hits.length, sz) - 1; i >= 0; i--) {
-                            SearchHit hit = hits[i];
-                            Map<String, Object> sourceAsMap = hit.getSourceAsMap();
-                            String question = (String) sourceAsMap.get(QUESTION_FIELD);
-                            String answer = (String) sourceAsMap.get(ANSWER_FIELD);
-                            historicalMessages.add(question);
-                            historicalMessages.add(answer);
+                @Override
+                protected void doRun() {
+                    chat(chatRequest, owner, task, session, chatListener);
+                }
+            });
+        });
+    }
+
+    /**
+     * Answer and store a turn while it holds its session. The session is released once the turn is stored, so that the
+     * next turn of the session reads it, or once the turn failed.
+     */
+    private void chat(ChatRequest chatRequest, String owner, Task task, Releasable session, ActionListener<ChatResponse> listener) {
+        ChatInput chatInput = chatRequest.getChatInput();
+        StageTimer timer = new StageTimer();
+        answer(chatInput, owner, Collections.emptyList(), timer, ActionListener.wrap(answered -> {
+            ConversationTurn turn = answered.getTurn();
+            if (asyncPersistence.isEnabled()) {
+                respondAndPersist(chatInput, owner, task, turn, answered.getSummary(), answered.getHistory(), timer, session, listener);
+                return;
+            }
+            boolean newSession = Strings.isNullOrEmpty(chatInput.getSessionId());
+            // The id of a new session is generated here, so the session is written in the same bulk as its first turn
+            String sessionId = newSession ? UUIDs.base64UUID() : chatInput.getSessionId();
+            ActionListener<DocWriteResponse> storeListener = ActionListener.wrap(r -> {
+                timer.mark(STAGE_MESSAGE);
+                slowLog.maybeLog(CHAT, task, sessionId, timer, null);
+                recentTurnsCache.append(sessionId, turn, newSession);
+                if (!newSession) {
+                    touchSession(sessionId, turn);
+                }
+                listener.onResponse(ChatResponse.builder().sessionId(sessionId).answer(turn.getAnswer()).build());
+                summarizer.maybeSummarize(sessionId, chatInput.getModelId(), answered.getSummary(), withTurn(answered.getHistory(), turn));
+            }, e -> {
+                slowLog.maybeLog(CHAT, task, sessionId, timer, e);
+                listener.onFailure(e);
+            });
+            ActionListener<DocWriteResponse> releasingListener = ActionListener.runAfter(storeListener, session::close);
+            storeTurn(chatInput, owner, sessionId, newSession, UUIDs.base64UUID(), turn, stats.timed(MESSAGE_WRITE, releasingListener));
+        }, e -> {
+            session.close();
+            slowLog.maybeLog(CHAT, task, chatInput.getSessionId(), timer, e);
+            listener.onFailure(e);
+        }));
+    }
+
+    /**
+     * Answer the question of a chat input without persisting anything: read the summary and recent turns of its
+     * session, assemble the prompt and ask the answer cache, then the model.
+     * @param owner user asking, cached answers are only shared between turns of the same user
+     * @param pendingTurns turns of the session answered but not persisted yet, oldest first
+     * @param listener notified on the chat thread pool with the answered turn
+     */
+    void answer(
+        ChatInput chatInput,
+        String owner,
+        List<ConversationTurn> pendingTurns,
+        StageTimer timer,
+        ActionListener<AnsweredTurn> listener
+    ) {
+        String question = chatInput.getParameters().get(QUESTION_FIELD);
+        StepListener<SessionSummary> summaryStep = new StepListener<>();
+        StepListener<List<ConversationTurn>> historyStep = new StepListener<>();
+        StepListener<String> answerStep = new StepListener<>();
+
+        summarizer.getSummary(chatInput.getSessionId(), summaryStep);
+        fetchHistory(chatInput.getSessionId(), ActionListener.map(historyStep, fetched -> {
+            if (pendingTurns.isEmpty()) {
+                return fetched;
+            }
+            List<ConversationTurn> history = new ArrayList<>(fetched.size() + pendingTurns.size());
+            history.addAll(fetched);
+            history.addAll(pendingTurns);
+            return history;
+        }));
+
+        historyStep.whenComplete(history -> summaryStep.whenComplete(summary -> {
+            stats.record(HISTORY_FETCH, timer.mark(STAGE_HISTORY));
+            List<ConversationTurn> turns = summarizer.unsummarizedTurns(summary, history);
+            String modelId = chatInput.getModelId();
+            String chatHistory = chatHistoryAssembler.assemble(modelId, summary.getText(), turns);
+            Map<String, String> params = new HashMap<>(chatInput.getParameters());
+            params.put(CHAT_HISTORY_FIELD, chatHistory);
+            stats.record(PROMPT, timer.mark(STAGE_PROMPT));
+            answerCache.get(modelId, owner, params, onChatThread(ActionListener.wrap(cached -> {
+                if (cached != null) {
+                    answerStep.onResponse(cached);
+                    return;
+                }
+                ActionListener<String> predictListener = onChatThread(ActionListener.wrap(answer -> {
+                    answerCache.put(modelId, owner, params, answer);
+                    answerStep.onResponse(answer);
+                }, answerStep::onFailure));
+                modelClient.predict(modelId, params, stats.timed(PREDICT, predictListener));
+            }, answerStep::onFailure)));
+        }, listener::onFailure), listener::onFailure);
+
+        answerStep.whenComplete(answer -> {
+            timer.mark(STAGE_PREDICT);
+            listener.onResponse(new AnsweredTurn(newTurn(question, answer), summaryStep.result(), historyStep.result()));
+        }, listener::onFailure);
+    }
+
+    /**
+     * Answer the turn right away and persist it on the persist thread pool. The session id of a new session is
+     * generated here, and the message id up front, so that retried writes overwrite instead of duplicating.
+     *
+     * The session is only released once the turn is persisted or given up on, so the next turn of the session, which
+     * may already be queued, reads this one from the message index.
+     */
+    private void respondAndPersist(
+        ChatInput chatInput,
+        String owner,
+        Task task,
+        ConversationTurn turn,
+        SessionSummary summary,
+        List<ConversationTurn> history,
+        StageTimer timer,
+        Releasable session,
+        ActionListener<ChatResponse> listener
+    ) {
+        boolean newSession = Strings.isNullOrEmpty(chatInput.getSessionId());
+        String sessionId = newSession ? UUIDs.base64UUID() : chatInput.getSessionId();
+        String messageId = UUIDs.base64UUID();
+        recentTurnsCache.append(sessionId, turn, newSession);
+        slowLog.maybeLog(CHAT, task, sessionId, timer, null);
+        listener.onResponse(ChatResponse.builder().sessionId(sessionId).answer(turn.getAnswer()).build());
+
+        asyncPersistence.execute("chat turn of session " + sessionId, writeListener -> {
+            ActionListener<DocWriteResponse> storeListener = ActionListener.wrap(r -> {
+                if (!newSession) {
+                    touchSession(sessionId, turn);
+                }
+                writeListener.onResponse(null);
+            }, writeListener::onFailure);
+            storeTurn(chatInput, owner, sessionId, newSession, messageId, turn, stats.timed(MESSAGE_WRITE, storeListener));
+        }, ActionListener.runAfter(ActionListener.wrap(r -> {
+            summarizer.maybeSummarize(sessionId, chatInput.getModelId(), summary, withTurn(history, turn));
+        }, e -> {
+            // The cached window holds a turn the index doesn't, let the next turn read from the index.
+            recentTurnsCache.invalidate(sessionId);
+        }), session::close));
+    }
+
+    /**
+     * Continue on the chat thread pool rather than on the search or transport thread that completes the listener. The
+     * turn was admitted by the chat pool already, so the continuation skips its queue limit.
+     */
+    private <T> ActionListener<T> onChatThread(ActionListener<T> listener) {
+        return new ThreadedActionListener<>(log, client.threadPool(), CHAT_THREAD_POOL, listener, true);
+    }
+
+    private static ConversationTurn newTurn(String question, String answer) {
+        return ConversationTurn.builder().question(question).answer(answer).createdTime(Instant.now()).build();
+    }
+
+    static List<ConversationTurn> withTurn(List<ConversationTurn> history, ConversationTurn turn) {
+        List<ConversationTurn> turns = new ArrayList<>(history.size() + 1);
+        turns.addAll(history);
+        turns.add(turn);
+        return turns;
+    }
+
+    /**
+     * Fetch the most recent rounds of the session, oldest first. The node-local cache is consulted before the message
+     * index. A new session or a missing message index yields an empty history.
+     */
+    private void fetchHistory(String sessionId, ActionListener<List<ConversationTurn>> listener) {
+        if (Strings.isNullOrEmpty(sessionId)) {
+            listener.onResponse(Collections.emptyList());
+            return;
+        }
+        List<ConversationTurn> cached = recentTurnsCache.get(sessionId);
+        if (cached != null) {
+            listener.onResponse(cached);
+            return;
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            TermQueryBuilder termQueryBuilder = new TermQueryBuilder(SESSION_ID_FIELD, sessionId);
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+            searchSourceBuilder.size(CHAT_HISTORY_ROUNDS);
+            searchSourceBuilder.query(termQueryBuilder);
+            searchSourceBuilder.trackTotalHits(false);
+            searchSourceBuilder.fetchSource(ConversationTurn.SOURCE_FIELDS, null);
+            // Same order as the index sort, the session is fixed by the query
+            searchSourceBuilder.sort(SESSION_ID_FIELD, SortOrder.ASC);
+            searchSourceBuilder.sort(CREATED_TIME_FIELD, SortOrder.DESC);
+            SearchRequest searchRequest = new SearchRequest(MESSAGE_INDEX).source(searchSourceBuilder);
+            if (indicesHandler.isMessageIndexRoutedBySession()) {
+                searchRequest.routing(sessionId);
+            }
+
+            client.search(searchRequest, ActionListener.runBefore(onChatThread(ActionListener.wrap(r -> {
+                SearchHit[] hits = r.getHits().getHits();
+                List<ConversationTurn> history = new ArrayList<>(hits == null ? 0 : hits.length);
+                if (hits != null) {
+                    // A write retried across a rollover stores the same turn in two generations, under the same id
+                    Set<String> ids = new HashSet<>();
+                    for (int i = Math.min(hits.length, CHAT_HISTORY_ROUNDS) - 1; i >= 0; i--) {
+                        if (ids.add(hits[i].getId())) {
+                            history.add(ConversationTurn.fromSource(hits[i].getSourceRef()));
                         }
-                    } else {
-                        log.error("Not found most recent messages.");
                     }
-                }, e -> {
-                    log.error("Failed to get most recent messages from session history index. " + e);
-                    listener.onFailure(e);
-                }), () -> context.restore()));
-            } catch (Exception e) {
-                log.error("Failed to get most recent messages from session history index outside. " + e);
+                }
+                recentTurnsCache.putIfAbsent(sessionId, history);
+                listener.onResponse(history);
+            }, e -> {
+                if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                    listener.onResponse(Collections.emptyList());
+                    return;
+                }
+                log.error("Failed to get most recent messages from session history index", e);
                 listener.onFailure(e);
-            }
+            })), context::restore));
+        } catch (Exception e) {
+            log.error("Failed to get most recent messages from session history index", e);
+            listener.onFailure(e);
         }
+    }
 
-        Map<String, String> params = chatInput.getParameters();
-        params.put("chat_history", StringUtils.join(historicalMessages, '\n'));
-        RemoteInferenceMLInput mlInput = new RemoteInferenceMLInput(FunctionName.REMOTE, new RemoteInferenceInputDataSet(params));
-        mlClient.predict(chatInput.getModelId(), mlInput, ActionListener.wrap(mlOutput -> {
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            OutputStreamStreamOutput outputStreamStreamOutput = new OutputStreamStreamOutput(byteArrayOutputStream);
-            mlOutput.writeTo(outputStreamStreamOutput);
-            String answer = byteArrayOutputStream.toString();
-            log.debug("Chat response for input {} is : ({}) ", chatInput, answer);
+    /**
+     * Store a turn, together with the metadata of its session if it is the first one. A write rejected by a temporary
+     * write block, as set while a legacy message index is moved behind its alias, is retried for a while. The message
+     * id is chosen up front, so a retry overwrites instead of duplicating.
+     */
+    private void storeTurn(
+        ChatInput chatInput,
+        String owner,
+        String sessionId,
+        boolean newSession,
+        String messageId,
+        ConversationTurn turn,
+        ActionListener<DocWriteResponse> listener
+    ) {
+        storeTurn(chatInput, owner, sessionId, newSession, messageId, turn, BLOCKED_WRITE_MAX_RETRIES, listener);
+    }
 
+    private void storeTurn(
+        ChatInput chatInput,
+        String owner,
+        String sessionId,
+        boolean newSession,
+        String messageId,
+        ConversationTurn turn,
+        int retriesLeft,
+        ActionListener<DocWriteResponse> listener
+    ) {
+        ActionListener<DocWriteResponse> retryingListener = ActionListener.wrap(listener::onResponse, e -> {
+            Throwable cause = ExceptionsHelper.unwrapCause(e);
+            boolean blocked = cause instanceof ClusterBlockException
+                && ((ClusterBlockException) cause).status() == RestStatus.TOO_MANY_REQUESTS;
+            if (!blocked || retriesLeft == 0) {
+                listener.onFailure(e);
+                return;
+            }
+            log.debug("Message write of session {} blocked, retrying in {}", sessionId, BLOCKED_WRITE_RETRY_DELAY);
             try {
-                AtomicReference<String> sessionId = new AtomicReference<>(chatInput.getSessionId());
+                client
+                    .threadPool()
+                    .schedule(
+                        () -> storeTurn(chatInput, owner, sessionId, newSession, messageId, turn, retriesLeft - 1, listener),
+                        BLOCKED_WRITE_RETRY_DELAY,
+                        ThreadPool.Names.SAME
+                    );
+            } catch (Exception inner) {
+                listener.onFailure(e);
+            }
+        });
+        if (newSession) {
+            storeFirstTurn(chatInput, owner, sessionId, messageId, turn, retryingListener);
+        } else {
+            storeMessage(sessionId, messageId, turn, retryingListener);
+        }
+    }
 
-                log.info("Ingesting session meta index.");
-                indicesHandler.initSessionMetaIndex(ActionListener.wrap(indexCreated -> {
-                    if (!indexCreated) {
-                        listener.onFailure(new RuntimeException("No response to create session meta index"));
-                        return;
-                    }
-                    if (!Strings.isNullOrEmpty(sessionId.get())) {
-                        storeMessage(sessionId.get(), chatInput.getParameters().get(QUESTION_FIELD), answer, listener);
-                        return;
-                    }
-                    try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-                        ActionListener<IndexResponse> indexResponseListener = ActionListener.wrap(r -> {
-                            sessionId.set(r.getId());
-                            log.info("Session meta has been saved into index, result:{}, session id: {}", r.getResult(), sessionId.get());
-                            storeMessage(sessionId.get(), chatInput.getParameters().get(QUESTION_FIELD), answer, listener);
-                        }, e -> { listener.onFailure(e); });
-
-                        IndexRequest indexRequest = new IndexRequest(SESSION_METADATA_INDEX);
-                        String title = chatInput.getParameters().get(QUESTION_FIELD);
-                        indexRequest.source(
-                            Map.of(
-                                SESSION_TITLE_FIELD,
-                                title,
-                                MODEL_ID_FIELD,
-                                chatInput.getModelId(),
-                                CREATED_TIME_FIELD,
-                                Instant.now().toEpochMilli()
-                            )
-                        );
-                        indexRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-                        client.index(indexRequest, ActionListener.runBefore(indexResponseListener, () -> context.restore()));
-                    } catch (Exception e) {
-                        log.error("Failed to save session metadata", e);
-                        listener.onFailure(e);
+    /**
+     * Write the metadata of a new session and its first turn in one bulk request. The session is created with its id,
+     * so a retried write that finds the session already there counts as a success.
+     * @param listener notified with the response of the message write
+     */
+    private void storeFirstTurn(
+        ChatInput chatInput,
+        String owner,
+        String sessionId,
+        String messageId,
+        ConversationTurn turn,
+        ActionListener<DocWriteResponse> listener
+    ) {
+        initIndices(ActionListener.wrap(indicesReady -> {
+            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                BulkRequest bulkRequest = new BulkRequest()
+                    .add(newSessionRequest(chatInput, owner, sessionId, turn))
+                    .add(newMessageRequest(sessionId, messageId, turn));
+                bulkRequest.setRefreshPolicy(turnRefreshPolicy());
+                ActionListener<BulkResponse> bulkListener = ActionListener.wrap(r -> {
+                    BulkItemResponse sessionItem = r.getItems()[0];
+                    BulkItemResponse messageItem = r.getItems()[1];
+                    if (sessionItem.isFailed() && !(sessionItem.getFailure().getCause() instanceof VersionConflictEngineException)) {
+                        listener.onFailure(sessionItem.getFailure().getCause());
+                    } else if (messageItem.isFailed()) {
+                        listener.onFailure(messageItem.getFailure().getCause());
+                    } else {
+                        listener.onResponse(messageItem.getResponse());
                     }
-                }, e -> {
-                    log.error("Failed to ingest session metadata index", e);
-                    listener.onFailure(e);
-                }));
-            } catch (IllegalArgumentException illegalArgumentException) {
-                log.error("Failed to chat ", illegalArgumentException);
-                listener.onFailure(illegalArgumentException);
+                }, listener::onFailure);
+                client.bulk(bulkRequest, ActionListener.runBefore(bulkListener, context::restore));
             } catch (Exception e) {
-                log.error("Failed to chat ", e);
+                log.error("Failed to save session {}", sessionId, e);
                 listener.onFailure(e);
             }
-        }, e -> { listener.onFailure(e); }));
+        }, listener::onFailure));
+    }
+
+    /**
+     * Create the session metadata index and the message index if they don't exist yet.
+     */
+    void initIndices(ActionListener<Void> listener) {
+        StepListener<Boolean> metadataIndexStep = new StepListener<>();
+        StepListener<Boolean> messageIndexStep = new StepListener<>();
+        indicesHandler.initSessionMetaIndex(metadataIndexStep);
+        indicesHandler.initMessageIndex(messageIndexStep);
+        metadataIndexStep.whenComplete(metadataIndexCreated -> messageIndexStep.whenComplete(messageIndexCreated -> {
+            if (!metadataIndexCreated || !messageIndexCreated) {
+                listener.onFailure(new RuntimeException("No response to create session meta index or message index"));
+                return;
+            }
+            listener.onResponse(null);
+        }, listener::onFailure), e -> {
+            log.error("Failed to ingest session metadata index", e);
+            listener.onFailure(e);
+        });
+    }
+
+    /**
+     * Refresh policy of a turn write: the next turn of the session has to find it, in the cache or in the index.
+     */
+    WriteRequest.RefreshPolicy turnRefreshPolicy() {
+        return bulkIndexBuffer.getDurability().refreshPolicy(!recentTurnsCache.isEnabled());
+    }
+
+    static IndexRequest newSessionRequest(ChatInput chatInput, String owner, String sessionId, ConversationTurn turn) {
+        long now = turn.getCreatedTime().toEpochMilli();
+        Map<String, Object> source = new HashMap<>();
+        source.put(SESSION_TITLE_FIELD, chatInput.getParameters().get(QUESTION_FIELD));
+        source.put(MODEL_ID_FIELD, chatInput.getModelId());
+        source.put(CREATED_TIME_FIELD, now);
+        source.put(LAST_UPDATED_TIME_FIELD, now);
+        if (owner != null) {
+            source.put(OWNER_FIELD, owner);
+        }
+        return new IndexRequest(SESSION_METADATA_INDEX).id(sessionId).opType(DocWriteRequest.OpType.CREATE).source(source);
+    }
+
+    /**
+     * Move the last updated time of an existing session to the given turn, so that it comes first in the session list.
+     * The update goes through the bulk index buffer without a refresh, a lost update only misorders the list.
+     */
+    private void touchSession(String sessionId, ConversationTurn turn) {
+        ActionListener<DocWriteResponse> touchListener = ActionListener
+            .wrap(r -> {}, e -> log.debug("Failed to update last updated time of session {}", sessionId, e));
+        bulkIndexBuffer
+            .add(touchSessionRequest(sessionId, turn), WriteRequest.RefreshPolicy.NONE, stats.timed(METADATA_WRITE, touchListener));
+    }
 
+    static UpdateRequest touchSessionRequest(String sessionId, ConversationTurn turn) {
+        return new UpdateRequest(SESSION_METADATA_INDEX, sessionId)
+            .doc(Map.of(LAST_UPDATED_TIME_FIELD, turn.getCreatedTime().toEpochMilli()));
     }
 
-    private void storeMessage(String sessionId, String question, String answer, ActionListener<ChatResponse> listener) {
+    /**
+     * Persist the turn into the message index. Unless the durability is immediate, the message goes through the bulk
+     * index buffer and only waits for a refresh when the next turn could not read it otherwise.
+     * @param messageId id of the message document, also stored as its message id
+     */
+    private void storeMessage(String sessionId, String messageId, ConversationTurn turn, ActionListener<DocWriteResponse> listener) {
         indicesHandler.initMessageIndex(ActionListener.wrap(indexCreated -> {
             if (!indexCreated) {
                 listener.onFailure(new RuntimeException("No response to create message index"));
                 return;
             }
 
+            IndexRequest indexRequest = newMessageRequest(sessionId, messageId, turn);
+
+            WriteDurability durability = bulkIndexBuffer.getDurability();
+            if (durability != WriteDurability.IMMEDIATE) {
+                bulkIndexBuffer.add(indexRequest, turnRefreshPolicy(), listener);
+                return;
+            }
             try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-                ActionListener<IndexResponse> indexResponseListener = ActionListener.wrap(r -> {
-                    log.info("Messages have been saved into index, result:{}, session id: {}", r.getResult(), sessionId);
-                    ChatResponse response = ChatResponse.builder().sessionId(sessionId).answer(answer).build();
-                    listener.onResponse(response);
-                }, e -> { listener.onFailure(e); });
-
-                IndexRequest indexRequest = new IndexRequest(MESSAGE_INDEX);
-                indexRequest.source(
-                    Map.of(
-                        SESSION_ID_FIELD,
-                        sessionId,
-                        QUESTION_FIELD,
-                        question,
-                        ANSWER_FIELD,
-                        answer,
-                        CREATED_TIME_FIELD,
-                        Instant.now().toEpochMilli()
-                    )
-                );
                 indexRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-                client.index(indexRequest, ActionListener.runBefore(indexResponseListener, () -> context.restore()));
+                ActionListener<IndexResponse> indexListener = ActionListener.wrap(listener::onResponse, listener::onFailure);
+                client.index(indexRequest, ActionListener.runBefore(indexListener, context::restore));
             } catch (Exception e) {
                 log.error("Failed to save messages", e);
                 listener.onFailure(e);
@@ -220,4 +584,37 @@ public class TransportChatAction extends HandledTransportAction<ActionRequest, C
             listener.onFailure(e);
         }));
     }
+
+    static IndexRequest newMessageRequest(String sessionId, String messageId, ConversationTurn turn) {
+        return new IndexRequest(MESSAGE_INDEX)
+            .id(messageId)
+            .routing(sessionId)
+            .source(
+                Map
+                    .of(
+                        SESSION_ID_FIELD,
+                        sessionId,
+                        MESSAGE_ID_FIELD,
+                        messageId,
+                        QUESTION_FIELD,
+                        turn.getQuestion(),
+                        ANSWER_FIELD,
+                        turn.getAnswer(),
+                        CREATED_TIME_FIELD,
+                        turn.getCreatedTime().toEpochMilli()
+                    )
+            );
+    }
+
+    /**
+     * A turn answered by the model, with the session context it was answered in.
+     */
+    @Getter
+    @AllArgsConstructor
+    static class AnsweredTurn {
+        private final ConversationTurn turn;
+        private final SessionSummary summary;
+        // Recent turns of the session before this one, oldest first
+        private final List<ConversationTurn> history;
+    }
 }
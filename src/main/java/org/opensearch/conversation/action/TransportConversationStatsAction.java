@@ -0,0 +1,137 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.action;
+
+import static org.opensearch.conversation.common.CommonValue.CHAT_THREAD_POOL;
+import static org.opensearch.conversation.common.CommonValue.PERSIST_THREAD_POOL;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.conversation.common.ActionRequestConverter;
+import org.opensearch.conversation.memory.RecentTurnsCache;
+import org.opensearch.conversation.memory.opensearch.AsyncPersistence;
+import org.opensearch.conversation.ml.AnswerCache;
+import org.opensearch.conversation.request.ConversationStatsNodeRequest;
+import org.opensearch.conversation.request.ConversationStatsRequest;
+import org.opensearch.conversation.response.ConversationStatsNodeResponse;
+import org.opensearch.conversation.response.ConversationStatsResponse;
+import org.opensearch.conversation.stats.ConversationStats;
+import org.opensearch.conversation.transport.ConversationStatsAction;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.threadpool.ThreadPoolStats;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Collects the conversation stats of every requested node: the latencies and counters recorded by
+ * {@link ConversationStats}, plus the counters kept by the caches, the request coalescer, async persistence, request
+ * conversion and the plugin thread pools.
+ */
+public class TransportConversationStatsAction extends
+    TransportNodesAction<ConversationStatsRequest, ConversationStatsResponse, ConversationStatsNodeRequest, ConversationStatsNodeResponse> {
+    private final ConversationStats stats;
+    private final RecentTurnsCache recentTurnsCache;
+    private final AnswerCache answerCache;
+    private final ChatRequestCoalescer coalescer;
+    private final AsyncPersistence asyncPersistence;
+
+    @Inject
+    public TransportConversationStatsAction(
+        ThreadPool threadPool,
+        ClusterService clusterService,
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ConversationStats stats,
+        RecentTurnsCache recentTurnsCache,
+        AnswerCache answerCache,
+        ChatRequestCoalescer coalescer,
+        AsyncPersistence asyncPersistence
+    ) {
+        super(
+            ConversationStatsAction.NAME,
+            threadPool,
+            clusterService,
+            transportService,
+            actionFilters,
+            ConversationStatsRequest::new,
+            ConversationStatsNodeRequest::new,
+            ThreadPool.Names.MANAGEMENT,
+            ConversationStatsNodeResponse.class
+        );
+        this.stats = stats;
+        this.recentTurnsCache = recentTurnsCache;
+        this.answerCache = answerCache;
+        this.coalescer = coalescer;
+        this.asyncPersistence = asyncPersistence;
+    }
+
+    @Override
+    protected ConversationStatsResponse newResponse(
+        ConversationStatsRequest request,
+        List<ConversationStatsNodeResponse> nodes,
+        List<FailedNodeException> failures
+    ) {
+        return new ConversationStatsResponse(clusterService.getClusterName(), nodes, failures);
+    }
+
+    @Override
+    protected ConversationStatsNodeRequest newNodeRequest(ConversationStatsRequest request) {
+        return new ConversationStatsNodeRequest();
+    }
+
+    @Override
+    protected ConversationStatsNodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new ConversationStatsNodeResponse(in);
+    }
+
+    @Override
+    protected ConversationStatsNodeResponse nodeOperation(ConversationStatsNodeRequest request) {
+        Map<String, Long> counters = stats.counters();
+
+        Cache.CacheStats historyCacheStats = recentTurnsCache.stats();
+        counters.put("history_cache.hits", historyCacheStats.getHits());
+        counters.put("history_cache.misses", historyCacheStats.getMisses());
+        counters.put("history_cache.evictions", historyCacheStats.getEvictions());
+        counters.put("history_cache.count", (long) recentTurnsCache.count());
+        counters.put("history_cache.size_in_bytes", recentTurnsCache.weight());
+
+        counters.put("answer_cache.hits", answerCache.getHits());
+        counters.put("answer_cache.index_hits", answerCache.getIndexHits());
+        counters.put("answer_cache.misses", answerCache.getMisses());
+        counters.put("answer_cache.count", (long) answerCache.count());
+        counters.put("answer_cache.size_in_bytes", answerCache.weight());
+
+        counters.put("coalescer.coalesced", coalescer.getCoalesced());
+        counters.put("coalescer.replayed", coalescer.getReplayed());
+        counters.put("coalescer.queued", coalescer.getQueued());
+
+        counters.put("async_persistence.submitted", asyncPersistence.getSubmittedCount());
+        counters.put("async_persistence.retried", asyncPersistence.getRetriedCount());
+        counters.put("async_persistence.failed", asyncPersistence.getFailedCount());
+
+        ActionRequestConverter.stats().forEach((type, conversions) -> {
+            counters.put("request_conversion." + type + ".direct", conversions.getDirect());
+            counters.put("request_conversion." + type + ".copied", conversions.getCopied());
+        });
+
+        for (ThreadPoolStats.Stats poolStats : threadPool.stats()) {
+            if (CHAT_THREAD_POOL.equals(poolStats.getName()) || PERSIST_THREAD_POOL.equals(poolStats.getName())) {
+                counters.put("thread_pool." + poolStats.getName() + ".queue", (long) poolStats.getQueue());
+                counters.put("thread_pool." + poolStats.getName() + ".rejected", poolStats.getRejected());
+                counters.put("thread_pool." + poolStats.getName() + ".completed", poolStats.getCompleted());
+            }
+        }
+        return new ConversationStatsNodeResponse(clusterService.localNode(), stats.latencies(), counters);
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.action;
+
+import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.MESSAGE_ID_FIELD;
+import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX;
+import static org.opensearch.conversation.common.CommonValue.OWNER_FIELD;
+import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
+import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX;
+import static org.opensearch.threadpool.ThreadPool.Names.GENERIC;
+
+import java.util.Objects;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.ThreadedActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversation.common.ExportCursor;
+import org.opensearch.conversation.common.UserContext;
+import org.opensearch.conversation.memory.opensearch.OpensearchIndicesHandler;
+import org.opensearch.conversation.request.ExportConversationRequest;
+import org.opensearch.conversation.response.ExportConversationResponse;
+import org.opensearch.conversation.transport.ExportConversationAction;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.slice.SliceBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Exports turns of one or all sessions page by page. The first page opens a point in time on the message index, and
+ * every page after it searches after the last hit of the previous one in that point in time, so an export sees one
+ * consistent view of the index and each page costs the same. Large exports can be split into slices read in parallel.
+ * Each slice opens its own point in time with its first page, so the slices of an export see the index as of the
+ * moment each of them started.
+ *
+ * Hits are copied into the page as their raw source, one per line, and only one page is held in memory at a time. The
+ * point in time is released with the last page or when a page fails, or expires a keep-alive after the last page was
+ * read.
+ *
+ * Exporting all sessions reads every user's turns, so it is reserved to admins. Other users can only export their own
+ * sessions, which is checked for every page. A cursor is bound to the session and the user it was issued to, and every
+ * page is filtered by the session of the request, so a cursor can't read turns its user couldn't export anyway.
+ */
+@Log4j2
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class TransportExportConversationAction extends HandledTransportAction<ActionRequest, ExportConversationResponse> {
+    private static final TimeValue KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+
+    private final OpensearchIndicesHandler indicesHandler;
+    private final Client client;
+
+    @Inject
+    public TransportExportConversationAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        OpensearchIndicesHandler indicesHandler,
+        Client client
+    ) {
+        super(ExportConversationAction.NAME, transportService, actionFilters, ExportConversationRequest::new);
+        this.indicesHandler = indicesHandler;
+        this.client = client;
+    }
+
+    @Override
+    protected void doExecute(Task task, ActionRequest request, ActionListener<ExportConversationResponse> listener) {
+        ExportConversationRequest exportRequest = ExportConversationRequest.fromActionRequest(request);
+        String sessionId = exportRequest.getSessionId();
+        String owner = UserContext.currentUser(client.threadPool().getThreadContext());
+        boolean admin = UserContext.isAdmin(client.threadPool().getThreadContext());
+        if (sessionId == null && !admin) {
+            listener.onFailure(new OpenSearchStatusException("Only admins can export all sessions", RestStatus.FORBIDDEN));
+            return;
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            ActionListener<ExportConversationResponse> restoringListener = ActionListener.runBefore(listener, context::restore);
+            ExportCursor cursor = exportRequest.getCursor() == null ? null : ExportCursor.decode(exportRequest.getCursor());
+            if (cursor != null && (!Objects.equals(cursor.getSessionId(), sessionId) || !Objects.equals(cursor.getOwner(), owner))) {
+                restoringListener.onFailure(new IllegalArgumentException("The export cursor was issued for another export"));
+                return;
+            }
+            checkOwner(sessionId, owner, admin, ActionListener.wrap(allowed -> {
+                if (cursor != null) {
+                    searchPage(
+                        exportRequest,
+                        owner,
+                        cursor.getPitId(),
+                        cursor.getSliceId(),
+                        cursor.getMaxSlices(),
+                        cursor.getSearchAfter(),
+                        restoringListener
+                    );
+                    return;
+                }
+                CreatePitRequest createPitRequest = new CreatePitRequest(KEEP_ALIVE, false, MESSAGE_INDEX);
+                if (sessionId != null && indicesHandler.isMessageIndexRoutedBySession()) {
+                    // The point in time only covers the shard holding the session
+                    createPitRequest.setRouting(sessionId);
+                }
+                client.createPit(createPitRequest, ActionListener.wrap(r -> {
+                    log.debug("Opened point in time for conversation export");
+                    int sliceId = exportRequest.getSliceId();
+                    searchPage(exportRequest, owner, r.getId(), sliceId, exportRequest.getMaxSlices(), null, restoringListener);
+                }, e -> {
+                    log.error("Failed to open point in time for conversation export", e);
+                    restoringListener.onFailure(e);
+                }));
+            }, restoringListener::onFailure));
+        } catch (Exception e) {
+            log.error("Failed to export conversations", e);
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Check that the user may export the session: admins may export any session, other users the sessions they own.
+     * Runs in the stashed context of the export.
+     */
+    private void checkOwner(String sessionId, String owner, boolean admin, ActionListener<Void> listener) {
+        if (sessionId == null || admin) {
+            listener.onResponse(null);
+            return;
+        }
+        GetRequest getRequest = new GetRequest(SESSION_METADATA_INDEX, sessionId)
+            .fetchSourceContext(new FetchSourceContext(true, new String[] { OWNER_FIELD }, null));
+        client.get(getRequest, ActionListener.wrap(r -> {
+            if (!r.isExists()) {
+                listener.onFailure(new OpenSearchStatusException("Session [{}] not found", RestStatus.NOT_FOUND, sessionId));
+            } else if (!Objects.equals(r.getSourceAsMap().get(OWNER_FIELD), owner)) {
+                listener.onFailure(new OpenSearchStatusException("No permission to export session [{}]", RestStatus.FORBIDDEN, sessionId));
+            } else {
+                listener.onResponse(null);
+            }
+        }, e -> {
+            if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                listener.onFailure(new OpenSearchStatusException("Session [{}] not found", RestStatus.NOT_FOUND, sessionId));
+                return;
+            }
+            log.error("Failed to get owner of session {}", sessionId, e);
+            listener.onFailure(e);
+        }));
+    }
+
+    private void searchPage(
+        ExportConversationRequest exportRequest,
+        String owner,
+        String pitId,
+        int sliceId,
+        int maxSlices,
+        Object[] searchAfter,
+        ActionListener<ExportConversationResponse> listener
+    ) {
+        int size = exportRequest.getSize();
+        QueryBuilder query = exportRequest.getSessionId() == null
+            ? QueryBuilders.matchAllQuery()
+            : QueryBuilders.termQuery(SESSION_ID_FIELD, exportRequest.getSessionId());
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+            .query(query)
+            .size(size)
+            .trackTotalHits(false)
+            .pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(KEEP_ALIVE))
+            .sort(CREATED_TIME_FIELD, SortOrder.ASC)
+            // Message ids are unique once the message index is upgraded, see OpensearchIndicesHandler
+            .sort(SortBuilders.fieldSort(MESSAGE_ID_FIELD).order(SortOrder.ASC).missing("_first").unmappedType("keyword"));
+        if (maxSlices > 0) {
+            searchSourceBuilder.slice(new SliceBuilder(sliceId, maxSlices));
+        }
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+        // A point in time search names no index
+        SearchRequest searchRequest = new SearchRequest().source(searchSourceBuilder);
+
+        ActionListener<SearchResponse> searchListener = ActionListener.wrap(r -> {
+            SearchHit[] hits = r.getHits().getHits();
+            BytesStreamOutput ndjson = new BytesStreamOutput();
+            int count = 0;
+            for (int i = 0; i < hits.length; i++) {
+                // A turn stored in two generations sorts next to itself, search_after skips it across pages
+                if (i > 0 && hits[i].getId().equals(hits[i - 1].getId())) {
+                    continue;
+                }
+                hits[i].getSourceRef().writeTo(ndjson);
+                ndjson.writeByte((byte) '\n');
+                count++;
+            }
+            String nextCursor = null;
+            if (hits.length < size) {
+                releasePit(pitId);
+            } else {
+                Object[] searchAfterNext = hits[hits.length - 1].getSortValues();
+                nextCursor = new ExportCursor(exportRequest.getSessionId(), owner, pitId, sliceId, maxSlices, searchAfterNext).encode();
+            }
+            listener
+                .onResponse(
+                    ExportConversationResponse.builder().ndjson(ndjson.bytes()).count(count).nextCursor(nextCursor).build()
+                );
+        }, e -> {
+            log.error("Failed to search conversation export page", e);
+            releasePit(pitId);
+            listener.onFailure(e);
+        });
+        // Copy the page on the generic pool rather than on the search thread, without taking slots from chat turns
+        try {
+            client.search(searchRequest, new ThreadedActionListener<>(log, client.threadPool(), GENERIC, searchListener, false));
+        } catch (Exception e) {
+            searchListener.onFailure(e);
+        }
+    }
+
+    private void releasePit(String pitId) {
+        client
+            .deletePits(
+                new DeletePitRequest(pitId),
+                ActionListener
+                    .wrap(
+                        r -> log.debug("Released point in time of conversation export"),
+                        e -> log.warn("Failed to release point in time of conversation export, it expires in {}", KEEP_ALIVE, e)
+                    )
+            );
+    }
+}
@@ -5,18 +5,13 @@
 
 package org.opensearch.conversation.action;
 
-import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
 import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.MESSAGE_ID_FIELD;
 import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX;
-import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
-import static org.opensearch.ml.common.utils.StringUtils.gson;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.CountDownLatch;
 
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -24,29 +19,33 @@ import lombok.extern.log4j.Log4j2;
 
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRequest;
-import org.opensearch.action.LatchedActionListener;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
-import org.opensearch.common.Strings;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversation.common.SearchAfterCursor;
+import org.opensearch.conversation.memory.ConversationTurn;
 import org.opensearch.conversation.memory.opensearch.OpensearchIndicesHandler;
 import org.opensearch.conversation.request.GetSessionHistoryRequest;
 import org.opensearch.conversation.response.GetSessionHistoryResponse;
 import org.opensearch.conversation.transport.GetSessionHistoryAction;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.index.query.TermQueryBuilder;
-import org.opensearch.ml.common.exception.MLException;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
-import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.sort.SortBuilders;
 import org.opensearch.search.sort.SortOrder;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 
+/**
+ * Pages through the turns of a session, oldest first. Pages are sorted by created time with the message id as
+ * tiebreaker, and each full page comes with a cursor holding the sort values of its last turn. The next page is
+ * searched after those values, so it costs the same as the first one however deep it is.
+ */
 @Log4j2
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class TransportGetSessionHistoryAction extends HandledTransportAction<ActionRequest, GetSessionHistoryResponse> {
@@ -76,48 +75,67 @@ public class TransportGetSessionHistoryAction extends HandledTransportAction<Act
         String sessionId = getSessionHistoryRequest.getSessionId();
         int from = getSessionHistoryRequest.getFrom();
         int size = getSessionHistoryRequest.getSize();
+        String cursor = getSessionHistoryRequest.getCursor();
 
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-            // TODO: scroll search here
             TermQueryBuilder termQueryBuilder = new TermQueryBuilder(SESSION_ID_FIELD, sessionId);
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.fetchSource(new FetchSourceContext(true, Strings.EMPTY_ARRAY, Strings.EMPTY_ARRAY));
-            searchSourceBuilder.from(from);
+            searchSourceBuilder.fetchSource(ConversationTurn.SOURCE_FIELDS, null);
             searchSourceBuilder.size(size);
             searchSourceBuilder.query(termQueryBuilder);
             searchSourceBuilder.sort(CREATED_TIME_FIELD, SortOrder.ASC);
+            // Message ids are unique, turns written before they existed get their document id as message id once the
+            // message index mapping is upgraded, and sort first within their millisecond until then
+            searchSourceBuilder
+                .sort(SortBuilders.fieldSort(MESSAGE_ID_FIELD).order(SortOrder.ASC).missing("_first").unmappedType("keyword"));
+            if (cursor != null) {
+                searchSourceBuilder.searchAfter(SearchAfterCursor.decode(cursor));
+            } else {
+                searchSourceBuilder.from(from);
+            }
             SearchRequest searchRequest = new SearchRequest().source(searchSourceBuilder).indices(MESSAGE_INDEX);
+            if (indicesHandler.isMessageIndexRoutedBySession()) {
+                searchRequest.routing(sessionId);
+            }
 
-            CountDownLatch latch = new CountDownLatch(1);
-            LatchedActionListener latchedActionListener = new LatchedActionListener<SearchResponse>(ActionListener.wrap(r -> {
-                log.info("Completed Get History Request");
-                List<GetSessionHistoryResponse.Element> steps = new ArrayList<>();
+            ActionListener<SearchResponse> searchListener = ActionListener.wrap(r -> {
+                log.debug("Completed Get History Request");
                 SearchHit[] hits = r.getHits().getHits();
+                List<GetSessionHistoryResponse.Element> steps = new ArrayList<>(hits == null ? 0 : hits.length);
                 if (hits != null && hits.length > 0) {
                     for (int i = 0; i < hits.length; i++) {
-                        SearchHit hit = hits[i];
-                        Map<String, Object> sourceAsMap = hit.getSourceAsMap();
-                        String question = (String) sourceAsMap.get(QUESTION_FIELD);
-                        String answer = (String) sourceAsMap.get(ANSWER_FIELD);
-                        Instant createdTime = Instant.ofEpochMilli((Long) sourceAsMap.get(CREATED_TIME_FIELD));
-                        steps.add(
-                            GetSessionHistoryResponse.Element.builder().question(question).answer(answer).createdTime(createdTime).build()
-                        );
+                        // A turn stored in two generations sorts next to itself, search_after skips it across pages
+                        if (i > 0 && hits[i].getId().equals(hits[i - 1].getId())) {
+                            continue;
+                        }
+                        ConversationTurn turn = ConversationTurn.fromSource(hits[i].getSourceRef());
+                        steps
+                            .add(
+                                GetSessionHistoryResponse.Element
+                                    .builder()
+                                    .question(turn.getQuestion())
+                                    .answer(turn.getAnswer())
+                                    .createdTime(turn.getCreatedTime())
+                                    .build()
+                            );
                     }
+                    String nextCursor = hits.length < size ? null : SearchAfterCursor.encode(hits[hits.length - 1]);
+                    listener
+                        .onResponse(GetSessionHistoryResponse.builder().sessionId(sessionId).steps(steps).nextCursor(nextCursor).build());
+                } else if (cursor != null) {
+                    // The previous page was exactly the last one
                     listener.onResponse(GetSessionHistoryResponse.builder().sessionId(sessionId).steps(steps).build());
                 } else {
                     listener.onFailure(new RuntimeException("No hits returned from session history index."));
                 }
             }, e -> {
                 log.error("Failed to search history index", e);
-            }), latch);
-            client.search(searchRequest, latchedActionListener);
-
-            try {
-                latch.await();
-            } catch (InterruptedException e) {
-                throw new IllegalStateException(e);
-            }
+                listener.onFailure(e);
+            });
+            client.search(searchRequest, ActionListener.runBefore(searchListener, context::restore));
+        } catch (Exception e) {
+            log.error("Failed to get session history", e);
+            listener.onFailure(e);
         }
     }
 }
@@ -5,19 +5,16 @@
 
 package org.opensearch.conversation.action;
 
-import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
 import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
-import static org.opensearch.conversation.common.CommonValue.MATCH_ALL_QUERY;
-import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
+import static org.opensearch.conversation.common.CommonValue.LAST_UPDATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.OWNER_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX;
 import static org.opensearch.conversation.common.CommonValue.SESSION_TITLE_FIELD;
 
-import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
 
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -25,52 +22,48 @@ import lombok.extern.log4j.Log4j2;
 
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRequest;
-import org.opensearch.action.LatchedActionListener;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
 import org.opensearch.client.Client;
-import org.opensearch.common.Strings;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.util.concurrent.ThreadContext;
-import org.opensearch.common.xcontent.LoggingDeprecationHandler;
-import org.opensearch.common.xcontent.XContentType;
-import org.opensearch.conversation.memory.opensearch.OpensearchIndicesHandler;
+import org.opensearch.conversation.common.UserContext;
 import org.opensearch.conversation.request.GetSessionListRequest;
-import org.opensearch.conversation.response.GetSessionHistoryResponse;
 import org.opensearch.conversation.response.GetSessionListResponse;
 import org.opensearch.conversation.transport.GetSessionListAction;
-import org.opensearch.core.xcontent.NamedXContentRegistry;
-import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.sort.SortBuilders;
 import org.opensearch.search.sort.SortOrder;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 
+/**
+ * Lists the sessions of the calling user, most recently updated first. Without security every session is listed.
+ *
+ * The metadata index is sorted by owner then last updated time, and the search sorts the same way, so the shards
+ * stop collecting as soon as a page of the user's sessions is found.
+ *
+ * Sessions created before owners were recorded have no owner. They stay listed while security is disabled; once it
+ * is enabled an admin has to assign them, e.g. with an update by query setting {@code owner} on the session metadata
+ * index.
+ */
 @Log4j2
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class TransportGetSessionListAction extends HandledTransportAction<ActionRequest, GetSessionListResponse> {
     private final TransportService transportService;
-    private final OpensearchIndicesHandler indicesHandler;
     private final Client client;
-    private final NamedXContentRegistry xContentRegistry;
 
     @Inject
-    public TransportGetSessionListAction(
-        TransportService transportService,
-        ActionFilters actionFilters,
-        OpensearchIndicesHandler indicesHandler,
-        Client client,
-        NamedXContentRegistry xContentRegistry
-    ) {
+    public TransportGetSessionListAction(TransportService transportService, ActionFilters actionFilters, Client client) {
         super(GetSessionListAction.NAME, transportService, actionFilters, GetSessionListRequest::new);
         this.transportService = transportService;
-        this.indicesHandler = indicesHandler;
         this.client = client;
-        this.xContentRegistry = xContentRegistry;
     }
 
     @Override
@@ -78,51 +71,64 @@ public class TransportGetSessionListAction extends HandledTransportAction<Action
         GetSessionListRequest getSessionListRequest = GetSessionListRequest.fromActionRequest(request);
         int from = getSessionListRequest.getFrom();
         int size = getSessionListRequest.getSize();
+        String owner = UserContext.currentUser(client.threadPool().getThreadContext());
 
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-            // TODO: scroll search here
+            BoolQueryBuilder query = QueryBuilders.boolQuery();
+            if (owner != null) {
+                query.filter(QueryBuilders.termQuery(OWNER_FIELD, owner));
+            }
+            String[] includes = new String[] { SESSION_TITLE_FIELD, CREATED_TIME_FIELD, LAST_UPDATED_TIME_FIELD };
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.fetchSource(new FetchSourceContext(true, Strings.EMPTY_ARRAY, Strings.EMPTY_ARRAY));
+            searchSourceBuilder.fetchSource(new FetchSourceContext(true, includes, null));
             searchSourceBuilder.from(from);
             searchSourceBuilder.size(size);
-            XContentParser queryParser = XContentType.JSON.xContent()
-                .createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, MATCH_ALL_QUERY);
-            searchSourceBuilder.parseXContent(queryParser);
-            searchSourceBuilder.sort(CREATED_TIME_FIELD, SortOrder.ASC);
+            searchSourceBuilder.query(query);
+            searchSourceBuilder.trackTotalHits(false);
+            // Same order as the index sort, the owner is fixed by the query. A metadata index whose mapping has not been
+            // upgraded yet lacks both fields.
+            if (owner != null) {
+                searchSourceBuilder.sort(SortBuilders.fieldSort(OWNER_FIELD).order(SortOrder.ASC).unmappedType("keyword"));
+            }
+            searchSourceBuilder.sort(SortBuilders.fieldSort(LAST_UPDATED_TIME_FIELD).order(SortOrder.DESC).unmappedType("long"));
             SearchRequest searchRequest = new SearchRequest().source(searchSourceBuilder).indices(SESSION_METADATA_INDEX);
 
-            CountDownLatch latch = new CountDownLatch(1);
-            LatchedActionListener latchedActionListener = new LatchedActionListener<SearchResponse>(ActionListener.wrap(r -> {
-                log.info("Completed Get Sessions Request");
+            ActionListener<SearchResponse> searchListener = ActionListener.wrap(r -> {
+                log.debug("Completed Get Sessions Request");
                 List<GetSessionListResponse.Element> sessions = new ArrayList<>();
                 SearchHit[] hits = r.getHits().getHits();
-                if (hits != null && hits.length > 0) {
+                if (hits != null) {
                     for (int i = 0; i < hits.length; i++) {
                         SearchHit hit = hits[i];
                         String sessionId = String.valueOf(hit.getId());
                         Map<String, Object> sourceAsMap = hit.getSourceAsMap();
                         String title = (String) sourceAsMap.get(SESSION_TITLE_FIELD);
-                        Instant createdTime = Instant.ofEpochMilli((Long) sourceAsMap.get(CREATED_TIME_FIELD));
-                        sessions.add(
-                                GetSessionListResponse.Element.builder().sessionId(sessionId).title(title).createdTime(createdTime).build()
-                        );
+                        Instant createdTime = Instant.ofEpochMilli(((Number) sourceAsMap.get(CREATED_TIME_FIELD)).longValue());
+                        Object lastUpdated = sourceAsMap.get(LAST_UPDATED_TIME_FIELD);
+                        Instant lastUpdatedTime = lastUpdated == null
+                            ? createdTime
+                            : Instant.ofEpochMilli(((Number) lastUpdated).longValue());
+                        sessions
+                            .add(
+                                GetSessionListResponse.Element
+                                    .builder()
+                                    .sessionId(sessionId)
+                                    .title(title)
+                                    .createdTime(createdTime)
+                                    .lastUpdatedTime(lastUpdatedTime)
+                                    .build()
+                            );
                     }
-                    listener.onResponse(GetSessionListResponse.builder().sessions(sessions).build());
-                } else {
-                    listener.onFailure(new RuntimeException("No hits returned from session meta index."));
                 }
+                // A user without sessions gets an empty list
+                listener.onResponse(GetSessionListResponse.builder().sessions(sessions).build());
             }, e -> {
                 log.error("Failed to search session meta index", e);
-            }), latch);
-            client.search(searchRequest, latchedActionListener);
-
-            try {
-                latch.await();
-            } catch (InterruptedException e) {
-                throw new IllegalStateException(e);
-            }
-        } catch (IOException e) {
-            log.error("Failed to create parser for sessions match all query. " + e);
+                listener.onFailure(e);
+            });
+            client.search(searchRequest, ActionListener.runBefore(searchListener, context::restore));
+        } catch (Exception e) {
+            log.error("Failed to get session list", e);
             listener.onFailure(e);
         }
     }
@@ -0,0 +1,89 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.metrics.CounterMetric;
+
+/**
+ * Turns an action request into the request class of this plugin. A request that already is of that class is returned
+ * as is. A request of another class, typically the same request loaded by another plugin's class loader, is written
+ * out and read back through a per-thread buffer that is reused across calls, so no copy of the bytes is made.
+ *
+ * The buffer is reset after each conversion, so the reader must copy what it reads, which holds for readers of plain
+ * strings and numbers.
+ */
+@Log4j2
+public final class ActionRequestConverter {
+    private static final ThreadLocal<BytesStreamOutput> BUFFER = ThreadLocal.withInitial(BytesStreamOutput::new);
+    private static final Map<String, Conversions> CONVERSIONS = new ConcurrentHashMap<>();
+
+    private ActionRequestConverter() {}
+
+    /**
+     * Convert an action request.
+     * @param actionRequest the request
+     * @param type request class of this plugin
+     * @param reader reads the request from a stream
+     * @return the request as the given class
+     */
+    public static <T extends ActionRequest> T convert(ActionRequest actionRequest, Class<T> type, Writeable.Reader<T> reader) {
+        Conversions conversions = CONVERSIONS.computeIfAbsent(type.getSimpleName(), name -> new Conversions());
+        if (type.isInstance(actionRequest)) {
+            conversions.direct.inc();
+            return type.cast(actionRequest);
+        }
+
+        conversions.copied.inc();
+        log.debug("Converting {} into {} through serialization", actionRequest.getClass().getName(), type.getSimpleName());
+        BytesStreamOutput out = BUFFER.get();
+        try {
+            actionRequest.writeTo(out);
+            try (StreamInput input = out.bytes().streamInput()) {
+                return reader.read(input);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse ActionRequest into " + type.getSimpleName(), e);
+        } finally {
+            // Also shrinks the buffer back to a single page after a large request
+            out.reset();
+        }
+    }
+
+    /**
+     * Conversion counts so far by simple name of the request class.
+     */
+    public static Map<String, Conversions> stats() {
+        return Collections.unmodifiableMap(CONVERSIONS);
+    }
+
+    /**
+     * How often requests of one class were returned as is and how often they had to be copied.
+     */
+    public static class Conversions {
+        private final CounterMetric direct = new CounterMetric();
+        private final CounterMetric copied = new CounterMetric();
+
+        public long getDirect() {
+            return direct.count();
+        }
+
+        public long getCopied() {
+            return copied.count();
+        }
+    }
+}
@@ -9,34 +9,44 @@ public class CommonValue {
 
     public static final String SESSION_METADATA_INDEX = ".plugins-conversation-session-metadata";
     public static final String MESSAGE_INDEX = ".plugins-conversation-message";
+    public static final String ANSWER_CACHE_INDEX = ".plugins-conversation-answer-cache";
 
     public static final String META = "_meta";
     public static final String SCHEMA_VERSION_FIELD = "schema_version";
     public static final Integer NO_SCHEMA_VERSION = 0;
-    public static final Integer SESSION_METADATA_INDEX_SCHEMA_VERSION = 1;
-    public static final Integer MESSAGE_INDEX_SCHEMA_VERSION = 1;
+    public static final Integer SESSION_METADATA_INDEX_SCHEMA_VERSION = 3;
+    public static final Integer MESSAGE_INDEX_SCHEMA_VERSION = 2;
+    public static final Integer ANSWER_CACHE_INDEX_SCHEMA_VERSION = 1;
     public static final String CREATED_TIME_FIELD = "created_time";
     public static final String LAST_UPDATED_TIME_FIELD = "last_updated_time";
     public static final String SESSION_TITLE_FIELD = "title";
     public static final String QUESTION_FIELD = "question";
     public static final String SESSION_ID_FIELD = "session_id";
+    public static final String MESSAGE_ID_FIELD = "message_id";
     public static final String ANSWER_FIELD = "answer";
     public static final String MODEL_ID_FIELD = "model_id";
+    public static final String OWNER_FIELD = "owner";
     public static final String ML_PARAMETERS_FIELD = "parameters";
+    public static final String REQUEST_ID_FIELD = "request_id";
     public static final String SESSIONS_FIELD = "sessions";
     public static final String STEPS_FIELD = "steps";
+    public static final String NEXT_CURSOR_FIELD = "next_cursor";
+    public static final String SUMMARY_FIELD = "summary";
+    public static final String SUMMARY_TIME_FIELD = "summary_time";
+    public static final String CHAT_HISTORY_FIELD = "chat_history";
+    public static final String CACHE_KEY_FIELD = "cache_key";
+    public static final String ITEMS_FIELD = "items";
+    public static final String ERROR_FIELD = "error";
+    public static final String STATUS_FIELD = "status";
+    public static final String NODES_FIELD = "nodes";
+    public static final String LATENCY_FIELD = "latency";
+    public static final String COUNTERS_FIELD = "counters";
+    // Number of most recent rounds of session history sent to the model
+    public static final int CHAT_HISTORY_ROUNDS = 20;
+
+    public static final String CHAT_THREAD_POOL = "conversation-chat";
+    public static final String PERSIST_THREAD_POOL = "conversation-persist";
 
-    public static final String USER_FIELD_MAPPING = "      \""
-        + "user"
-        + "\": {\n"
-        + "        \"type\": \"nested\",\n"
-        + "        \"properties\": {\n"
-        + "          \"name\": {\"type\":\"text\", \"fields\":{\"keyword\":{\"type\":\"keyword\", \"ignore_above\":256}}},\n"
-        + "          \"backend_roles\": {\"type\":\"text\", \"fields\":{\"keyword\":{\"type\":\"keyword\"}}},\n"
-        + "          \"roles\": {\"type\":\"text\", \"fields\":{\"keyword\":{\"type\":\"keyword\"}}},\n"
-        + "          \"custom_attribute_names\": {\"type\":\"text\", \"fields\":{\"keyword\":{\"type\":\"keyword\"}}}\n"
-        + "        }\n"
-        + "      }\n";
     public static final String SESSION_METADATA_INDEX_MAPPING = "{\n"
         + "    \"_meta\": {\"schema_version\": "
         + SESSION_METADATA_INDEX_SCHEMA_VERSION
@@ -46,15 +56,48 @@ public class CommonValue {
         + MODEL_ID_FIELD
         + "\" : {\"type\": \"keyword\"},\n"
         + "      \""
+        + OWNER_FIELD
+        + "\" : {\"type\": \"keyword\"},\n"
+        + "      \""
         + SESSION_TITLE_FIELD
         + "\" : {\"type\": \"text\"},\n"
         + "      \""
+        + SUMMARY_FIELD
+        + "\" : {\"type\": \"text\", \"index\": false},\n"
+        + "      \""
+        + SUMMARY_TIME_FIELD
+        + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"},\n"
+        + "      \""
         + CREATED_TIME_FIELD
         + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"},\n"
         + "      \""
         + LAST_UPDATED_TIME_FIELD
-        + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"},\n"
-        + USER_FIELD_MAPPING
+        + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"}\n"
+        + "    }\n"
+        + "}";
+
+    // Sessions of a user are stored next to each other, most recently updated first, so listing them terminates early
+    public static final String SESSION_METADATA_INDEX_SETTINGS = "{\n"
+        + "    \"index\": {\n"
+        + "      \"sort.field\": [\""
+        + OWNER_FIELD
+        + "\", \""
+        + LAST_UPDATED_TIME_FIELD
+        + "\"],\n"
+        + "      \"sort.order\": [\"asc\", \"desc\"]\n"
+        + "    }\n"
+        + "}";
+
+    // Turns are routed by session id, and stored by session then newest first, so reading the recent turns of a session
+    // hits a single shard and terminates early
+    public static final String MESSAGE_INDEX_SETTINGS = "{\n"
+        + "    \"index\": {\n"
+        + "      \"sort.field\": [\""
+        + SESSION_ID_FIELD
+        + "\", \""
+        + CREATED_TIME_FIELD
+        + "\"],\n"
+        + "      \"sort.order\": [\"asc\", \"desc\"]\n"
         + "    }\n"
         + "}";
 
@@ -67,6 +110,9 @@ public class CommonValue {
         + SESSION_ID_FIELD
         + "\": {\"type\": \"keyword\"},\n"
         + "      \""
+        + MESSAGE_ID_FIELD
+        + "\": {\"type\": \"keyword\"},\n"
+        + "      \""
         + QUESTION_FIELD
         + "\" : {\"type\": \"text\"},\n"
         + "      \""
@@ -77,10 +123,30 @@ public class CommonValue {
         + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"},\n"
         + "      \""
         + LAST_UPDATED_TIME_FIELD
-        + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"},\n"
-        + USER_FIELD_MAPPING
+        + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"}\n"
+        + "    }\n"
+        + "}";
+
+    // Cached answers are only looked up by id and purged by age, the key and answer stay in _source unindexed
+    public static final String ANSWER_CACHE_INDEX_MAPPING = "{\n"
+        + "    \"_meta\": {\"schema_version\": "
+        + ANSWER_CACHE_INDEX_SCHEMA_VERSION
+        + "},\n"
+        + "    \"dynamic\": false,\n"
+        + "    \"properties\": {\n"
+        + "      \""
+        + MODEL_ID_FIELD
+        + "\": {\"type\": \"keyword\"},\n"
+        + "      \""
+        + CREATED_TIME_FIELD
+        + "\": {\"type\": \"date\", \"format\": \"strict_date_time||epoch_millis\"}\n"
         + "    }\n"
         + "}";
 
-    public static final String MATCH_ALL_QUERY = "{\n" + "  \"query\": {\n" + "    \"match_all\": {}\n" + "  }\n" + "}";
+    public static final String ANSWER_CACHE_INDEX_SETTINGS = "{\n"
+        + "    \"index\": {\n"
+        + "      \"number_of_shards\": 1,\n"
+        + "      \"auto_expand_replicas\": \"0-1\"\n"
+        + "    }\n"
+        + "}";
 }
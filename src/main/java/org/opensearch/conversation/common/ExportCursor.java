@@ -0,0 +1,74 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.common;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import lombok.Getter;
+
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+
+/**
+ * Opaque token of an export in progress: the session and user it was issued to, the point in time the export reads
+ * from, the slice it covers and the sort values of the last exported hit.
+ */
+@Getter
+public class ExportCursor {
+    // Null when all sessions are exported
+    private final String sessionId;
+    // Null if security is disabled
+    private final String owner;
+    private final String pitId;
+    private final int sliceId;
+    // 0 if the export is not sliced
+    private final int maxSlices;
+    private final Object[] searchAfter;
+
+    public ExportCursor(String sessionId, String owner, String pitId, int sliceId, int maxSlices, Object[] searchAfter) {
+        this.sessionId = sessionId;
+        this.owner = owner;
+        this.pitId = pitId;
+        this.sliceId = sliceId;
+        this.maxSlices = maxSlices;
+        this.searchAfter = searchAfter;
+    }
+
+    public String encode() {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeOptionalString(sessionId);
+            out.writeOptionalString(owner);
+            out.writeString(pitId);
+            out.writeVInt(sliceId);
+            out.writeVInt(maxSlices);
+            out.writeGenericValue(searchAfter);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode export cursor", e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ExportCursor decode(String cursor) {
+        try (StreamInput in = new BytesArray(Base64.getUrlDecoder().decode(cursor)).streamInput()) {
+            return new ExportCursor(
+                in.readOptionalString(),
+                in.readOptionalString(),
+                in.readString(),
+                in.readVInt(),
+                in.readVInt(),
+                (Object[]) in.readGenericValue()
+            );
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid export cursor", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.common;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.search.SearchHit;
+
+/**
+ * Opaque paging token holding the sort values of the last hit of a page. The next page is searched with these values
+ * as search_after, so every page costs the same no matter how deep it is.
+ */
+public final class SearchAfterCursor {
+
+    private SearchAfterCursor() {}
+
+    /**
+     * Build the cursor of the page after the given hit.
+     * @param lastHit last hit of the current page, searched with a sort
+     * @return the cursor
+     */
+    public static String encode(SearchHit lastHit) {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeGenericValue(lastHit.getSortValues());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    /**
+     * Read the search_after values of a cursor.
+     * @param cursor cursor returned with a previous page
+     * @return the sort values of the last hit of that page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Object[] decode(String cursor) {
+        try (StreamInput in = new BytesArray(Base64.getUrlDecoder().decode(cursor)).streamInput()) {
+            return (Object[]) in.readGenericValue();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
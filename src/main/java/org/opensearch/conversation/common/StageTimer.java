@@ -0,0 +1,56 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.common;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each consecutive stage of a request took. A stage ends when {@link #mark(String)} is called and
+ * the next one starts right away, so the stage durations add up to the total request time.
+ */
+public class StageTimer {
+    private final long startNanos;
+    private long lastMarkNanos;
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+
+    public StageTimer() {
+        this.startNanos = System.nanoTime();
+        this.lastMarkNanos = startNanos;
+    }
+
+    /**
+     * End the current stage and record its duration under the given name.
+     * @param stage stage name
+     * @return duration of the stage in nanoseconds
+     */
+    public synchronized long mark(String stage) {
+        long now = System.nanoTime();
+        long took = now - lastMarkNanos;
+        stageNanos.merge(stage, took, Long::sum);
+        lastMarkNanos = now;
+        return took;
+    }
+
+    public synchronized Map<String, Long> getStageNanos() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(stageNanos));
+    }
+
+    public long totalNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> entry : stageNanos.entrySet()) {
+            sb.append(entry.getKey()).append('=').append(TimeUnit.NANOSECONDS.toMillis(entry.getValue())).append("ms, ");
+        }
+        return sb.append("total=").append(TimeUnit.NANOSECONDS.toMillis(totalNanos())).append("ms").toString();
+    }
+}
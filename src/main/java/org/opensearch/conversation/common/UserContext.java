@@ -0,0 +1,56 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.common;
+
+import org.opensearch.common.Strings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+
+/**
+ * Reads the user of a request from the thread context, as put there by the security plugin.
+ */
+public final class UserContext {
+    // Same as ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT of common-utils
+    private static final String USER_INFO_TRANSIENT = "_opendistro_security_user_info";
+    // Role of the security plugin granting every permission
+    private static final String ADMIN_ROLE = "all_access";
+
+    private UserContext() {}
+
+    /**
+     * @return name of the user making the request, null if security is disabled
+     */
+    public static String currentUser(ThreadContext threadContext) {
+        Object userInfo = threadContext.getTransient(USER_INFO_TRANSIENT);
+        if (!(userInfo instanceof String) || Strings.isNullOrEmpty((String) userInfo)) {
+            return null;
+        }
+        // name|backend_roles|roles|requested_tenant
+        String info = (String) userInfo;
+        int end = info.indexOf('|');
+        String name = end < 0 ? info : info.substring(0, end);
+        return name.isEmpty() ? null : name;
+    }
+
+    /**
+     * @return whether the user making the request may read every user's conversations, true if security is disabled
+     */
+    public static boolean isAdmin(ThreadContext threadContext) {
+        Object userInfo = threadContext.getTransient(USER_INFO_TRANSIENT);
+        if (!(userInfo instanceof String) || Strings.isNullOrEmpty((String) userInfo)) {
+            return true;
+        }
+        String[] parts = ((String) userInfo).split("\\|", -1);
+        if (parts.length < 3) {
+            return false;
+        }
+        for (String role : parts[2].split(",")) {
+            if (ADMIN_ROLE.equals(role.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -8,6 +8,7 @@ package org.opensearch.conversation.input;
 import static org.opensearch.common.xcontent.XContentParserUtils.ensureExpectedToken;
 import static org.opensearch.conversation.common.CommonValue.ML_PARAMETERS_FIELD;
 import static org.opensearch.conversation.common.CommonValue.MODEL_ID_FIELD;
+import static org.opensearch.conversation.common.CommonValue.REQUEST_ID_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
 
 import java.io.IOException;
@@ -30,24 +31,33 @@ public class ChatInput implements ToXContentObject, Writeable {
     private String sessionId;
     private String modelId;
     private Map<String, String> parameters;
+    // Idempotency key chosen by the client, a retried request with the same key gets the answer of the first one
+    private String requestId;
 
-    @Builder(toBuilder = true)
     public ChatInput(String sessionId, String modelId, Map<String, String> parameters) {
+        this(sessionId, modelId, parameters, null);
+    }
+
+    @Builder(toBuilder = true)
+    public ChatInput(String sessionId, String modelId, Map<String, String> parameters, String requestId) {
         this.sessionId = sessionId;
         this.modelId = modelId;
         this.parameters = parameters;
+        this.requestId = requestId;
     }
 
     public ChatInput(StreamInput in) throws IOException {
         this.sessionId = in.readString();
         this.modelId = in.readString();
         this.parameters = in.readMap(s -> s.readString(), s -> s.readString());
+        this.requestId = in.readOptionalString();
     }
 
     public static ChatInput parse(XContentParser parser) throws IOException {
         String userId = null;
         String modelId = null;
         Map<String, String> parameters = new HashMap<>();
+        String requestId = null;
 
         ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
         while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
@@ -64,13 +74,16 @@ public class ChatInput implements ToXContentObject, Writeable {
                 case ML_PARAMETERS_FIELD:
                     parameters = parser.mapStrings();
                     break;
+                case REQUEST_ID_FIELD:
+                    requestId = parser.text();
+                    break;
                 default:
                     parser.skipChildren();
                     break;
             }
         }
 
-        return new ChatInput(userId, modelId, parameters);
+        return new ChatInput(userId, modelId, parameters, requestId);
     }
 
     @Override
@@ -78,6 +91,7 @@ public class ChatInput implements ToXContentObject, Writeable {
         out.writeString(sessionId);
         out.writeString(modelId);
         out.writeMap(parameters, StreamOutput::writeString, StreamOutput::writeString);
+        out.writeOptionalString(requestId);
     }
 
     @Override
@@ -92,6 +106,9 @@ public class ChatInput implements ToXContentObject, Writeable {
         if (parameters != null) {
             builder.field(ML_PARAMETERS_FIELD, parameters);
         }
+        if (requestId != null) {
+            builder.field(REQUEST_ID_FIELD, requestId);
+        }
         builder.endObject();
         return builder;
     }
@@ -0,0 +1,219 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory;
+
+import static org.opensearch.conversation.common.CommonValue.CHAT_HISTORY_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CHAT_HISTORY_ROUNDS;
+import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
+import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX;
+import static org.opensearch.conversation.common.CommonValue.SUMMARY_FIELD;
+import static org.opensearch.conversation.common.CommonValue.SUMMARY_TIME_FIELD;
+import static org.opensearch.conversation.settings.ConversationSettings.HISTORY_CACHE_EXPIRE_AFTER_LOAD;
+import static org.opensearch.conversation.settings.ConversationSettings.SUMMARY_ENABLED;
+import static org.opensearch.conversation.settings.ConversationSettings.SUMMARY_INTERVAL;
+import static org.opensearch.conversation.settings.ConversationSettings.SUMMARY_MODEL_ID;
+import static org.opensearch.conversation.settings.ConversationSettings.SUMMARY_PROMPT;
+import static org.opensearch.conversation.settings.ConversationSettings.SUMMARY_RECENT_TURNS;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.action.update.UpdateRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Strings;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversation.memory.opensearch.BulkIndexBuffer;
+import org.opensearch.conversation.ml.RemoteModelClient;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+
+/**
+ * Keeps a rolling summary of long sessions on their session metadata document.
+ *
+ * Once a session has {@code interval} turns beyond the summary and the most recent {@code recent_turns}, those turns
+ * are folded into the summary by a background model call, and the chat prompt carries the summary plus the turns
+ * after it instead of the raw history.
+ */
+@Log4j2
+public class ConversationSummarizer {
+    private static final long MAX_CACHED_SUMMARIES = 10_000;
+
+    private final Client client;
+    private final RemoteModelClient modelClient;
+    private final BulkIndexBuffer bulkIndexBuffer;
+    private final Cache<String, SessionSummary> summaries;
+    private final Set<String> summarizing = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean enabled;
+    private volatile int interval;
+    private volatile int recentTurns;
+    private volatile String summaryModelId;
+    private volatile String prompt;
+
+    public ConversationSummarizer(
+        Settings settings,
+        ClusterService clusterService,
+        Client client,
+        RemoteModelClient modelClient,
+        BulkIndexBuffer bulkIndexBuffer
+    ) {
+        this.client = client;
+        this.modelClient = modelClient;
+        this.bulkIndexBuffer = bulkIndexBuffer;
+        this.summaries = CacheBuilder
+            .<String, SessionSummary>builder()
+            .setMaximumWeight(MAX_CACHED_SUMMARIES)
+            .setExpireAfterWrite(HISTORY_CACHE_EXPIRE_AFTER_LOAD.get(settings))
+            .build();
+
+        this.enabled = SUMMARY_ENABLED.get(settings);
+        this.interval = SUMMARY_INTERVAL.get(settings);
+        this.recentTurns = SUMMARY_RECENT_TURNS.get(settings);
+        this.summaryModelId = SUMMARY_MODEL_ID.get(settings);
+        this.prompt = SUMMARY_PROMPT.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SUMMARY_ENABLED, it -> enabled = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SUMMARY_INTERVAL, it -> interval = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SUMMARY_RECENT_TURNS, it -> recentTurns = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SUMMARY_MODEL_ID, it -> summaryModelId = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SUMMARY_PROMPT, it -> prompt = it);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the rolling summary of a session.
+     * @param sessionId session id, null or empty for a new session
+     * @param listener notified with the summary, {@link SessionSummary#EMPTY} if there is none or the mode is disabled
+     */
+    public void getSummary(String sessionId, ActionListener<SessionSummary> listener) {
+        if (!enabled || Strings.isNullOrEmpty(sessionId)) {
+            listener.onResponse(SessionSummary.EMPTY);
+            return;
+        }
+        SessionSummary cached = summaries.get(sessionId);
+        if (cached != null) {
+            listener.onResponse(cached);
+            return;
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            GetRequest getRequest = new GetRequest(SESSION_METADATA_INDEX, sessionId)
+                .fetchSourceContext(new FetchSourceContext(true, new String[] { SUMMARY_FIELD, SUMMARY_TIME_FIELD }, null));
+            client.get(getRequest, ActionListener.runBefore(ActionListener.wrap(r -> {
+                SessionSummary summary = parse(r);
+                summaries.put(sessionId, summary);
+                listener.onResponse(summary);
+            }, e -> {
+                if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                    listener.onResponse(SessionSummary.EMPTY);
+                    return;
+                }
+                log.error("Failed to get summary of session {}", sessionId, e);
+                listener.onFailure(e);
+            }), context::restore));
+        } catch (Exception e) {
+            log.error("Failed to get summary of session {}", sessionId, e);
+            listener.onFailure(e);
+        }
+    }
+
+    /**
+     * Turns of the window that are not folded into the summary yet, oldest first.
+     */
+    public List<ConversationTurn> unsummarizedTurns(SessionSummary summary, List<ConversationTurn> turns) {
+        if (summary.isEmpty()) {
+            return turns;
+        }
+        int from = 0;
+        while (from < turns.size() && summary.covers(turns.get(from))) {
+            from++;
+        }
+        return turns.subList(from, turns.size());
+    }
+
+    /**
+     * Fold the older turns of a session into its summary in the background if enough turns piled up since the last
+     * summary. At most one summarization per session runs at a time on this node.
+     * @param sessionId session id
+     * @param chatModelId model of the chat, used when no summary model is configured
+     * @param summary current summary of the session
+     * @param turns most recent turns of the session including the one just written, oldest first
+     */
+    public void maybeSummarize(String sessionId, String chatModelId, SessionSummary summary, List<ConversationTurn> turns) {
+        if (!enabled) {
+            return;
+        }
+        List<ConversationTurn> pending = unsummarizedTurns(summary, turns);
+        int keep = recentTurns;
+        int threshold = Math.min(interval + keep, CHAT_HISTORY_ROUNDS);
+        if (pending.size() < threshold || pending.size() <= keep) {
+            return;
+        }
+        List<ConversationTurn> toFold = new ArrayList<>(pending.subList(0, pending.size() - keep));
+        Instant coveredUntil = toFold.get(toFold.size() - 1).getCreatedTime();
+        if (coveredUntil == null || !summarizing.add(sessionId)) {
+            return;
+        }
+
+        StringBuilder history = new StringBuilder();
+        if (!summary.isEmpty()) {
+            history.append(summary.getText());
+        }
+        for (ConversationTurn turn : toFold) {
+            if (history.length() > 0) {
+                history.append('\n');
+            }
+            history.append(turn.getQuestion()).append('\n').append(turn.getAnswer());
+        }
+        String modelId = Strings.isNullOrEmpty(summaryModelId) ? chatModelId : summaryModelId;
+        Map<String, String> params = Map.of(QUESTION_FIELD, prompt, CHAT_HISTORY_FIELD, history.toString());
+
+        modelClient.predict(modelId, params, ActionListener.wrap(text -> {
+            SessionSummary newSummary = SessionSummary.builder().text(text).coveredUntil(coveredUntil).build();
+            UpdateRequest updateRequest = new UpdateRequest(SESSION_METADATA_INDEX, sessionId)
+                .doc(Map.of(SUMMARY_FIELD, text, SUMMARY_TIME_FIELD, coveredUntil.toEpochMilli()));
+            ActionListener<DocWriteResponse> updateListener = ActionListener.wrap(r -> {
+                summaries.put(sessionId, newSummary);
+                log.debug("Folded {} turns into the summary of session {}", toFold.size(), sessionId);
+            }, e -> log.error("Failed to save summary of session {}", sessionId, e));
+            updateListener = ActionListener.runAfter(updateListener, () -> summarizing.remove(sessionId));
+            bulkIndexBuffer.add(updateRequest, WriteRequest.RefreshPolicy.NONE, updateListener);
+        }, e -> {
+            summarizing.remove(sessionId);
+            log.error("Failed to summarize session {}", sessionId, e);
+        }));
+    }
+
+    private static SessionSummary parse(GetResponse response) {
+        if (!response.isExists()) {
+            return SessionSummary.EMPTY;
+        }
+        Map<String, Object> source = response.getSourceAsMap();
+        Object text = source.get(SUMMARY_FIELD);
+        Object coveredUntil = source.get(SUMMARY_TIME_FIELD);
+        if (text == null || coveredUntil == null) {
+            return SessionSummary.EMPTY;
+        }
+        return SessionSummary.builder().text((String) text).coveredUntil(Instant.ofEpochMilli(((Number) coveredUntil).longValue())).build();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory;
+
+import static org.opensearch.common.xcontent.XContentParserUtils.ensureExpectedToken;
+import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+
+/**
+ * One question/answer round of a session.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class ConversationTurn {
+    // Rough per-object overhead of the turn and its strings, used to weigh cached turns
+    private static final long SHALLOW_SIZE_IN_BYTES = 96;
+    // Source fields a turn is read from, the rest of a message document is filtered out of history reads
+    public static final String[] SOURCE_FIELDS = new String[] { QUESTION_FIELD, ANSWER_FIELD, CREATED_TIME_FIELD };
+
+    private final String question;
+    private final String answer;
+    private final Instant createdTime;
+
+    @Builder
+    public ConversationTurn(String question, String answer, Instant createdTime) {
+        this.question = question;
+        this.answer = answer;
+        this.createdTime = createdTime;
+    }
+
+    /**
+     * Read a turn from the source of a message document, pulling the question, answer and created time straight off
+     * the parser without building a map of the whole source.
+     * @param source source of the message document, as returned by {@code SearchHit#getSourceRef()}
+     */
+    public static ConversationTurn fromSource(BytesReference source) throws IOException {
+        try (
+            XContentParser parser = XContentHelper
+                .createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, source, XContentType.JSON)
+        ) {
+            parser.nextToken();
+            return parse(parser);
+        }
+    }
+
+    public static ConversationTurn parse(XContentParser parser) throws IOException {
+        String question = null;
+        String answer = null;
+        Instant createdTime = null;
+
+        ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            XContentParser.Token token = parser.nextToken();
+
+            switch (fieldName) {
+                case QUESTION_FIELD:
+                    question = token == XContentParser.Token.VALUE_NULL ? null : parser.text();
+                    break;
+                case ANSWER_FIELD:
+                    answer = token == XContentParser.Token.VALUE_NULL ? null : parser.text();
+                    break;
+                case CREATED_TIME_FIELD:
+                    createdTime = token == XContentParser.Token.VALUE_NULL ? null : Instant.ofEpochMilli(parser.longValue());
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        return new ConversationTurn(question, answer, createdTime);
+    }
+
+    /**
+     * Approximate heap size of this turn.
+     */
+    public long ramBytesUsed() {
+        long size = SHALLOW_SIZE_IN_BYTES;
+        if (question != null) {
+            size += 2L * question.length();
+        }
+        if (answer != null) {
+            size += 2L * answer.length();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory;
+
+import static org.opensearch.conversation.settings.ConversationSettings.HISTORY_CACHE_ENABLED;
+import static org.opensearch.conversation.settings.ConversationSettings.HISTORY_CACHE_EXPIRE_AFTER_LOAD;
+import static org.opensearch.conversation.settings.ConversationSettings.HISTORY_CACHE_SIZE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.settings.Settings;
+
+/**
+ * Node-local LRU cache of the most recent turns of each session, bounded by the estimated heap size of the cached
+ * turns rather than by the number of sessions.
+ *
+ * The cache is filled on write when the full window of a session is known (a new session, or a session whose window
+ * is already cached), and on read from the result of a history search. Turns written through other nodes are not seen
+ * here, which is why a window expires a fixed time after it was first loaded, however often turns are appended to it.
+ * The cache is off by default, it only helps when the turns of a session keep going through the same node.
+ */
+@Log4j2
+public class RecentTurnsCache {
+    private final boolean enabled;
+    private final int maxTurns;
+    private final long expireAfterNanos;
+    private final Cache<String, Window> cache;
+
+    public RecentTurnsCache(Settings settings, int maxTurns) {
+        this.enabled = HISTORY_CACHE_ENABLED.get(settings);
+        this.maxTurns = maxTurns;
+        this.expireAfterNanos = HISTORY_CACHE_EXPIRE_AFTER_LOAD.get(settings).nanos();
+        this.cache = CacheBuilder
+            .<String, Window>builder()
+            .setMaximumWeight(HISTORY_CACHE_SIZE.get(settings).getBytes())
+            .weigher((sessionId, window) -> weigh(sessionId, window.turns))
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the cached window of a session, oldest turn first.
+     * @param sessionId session id
+     * @return the cached turns, or null if the session is not cached
+     */
+    public List<ConversationTurn> get(String sessionId) {
+        if (!enabled) {
+            return null;
+        }
+        Window window = current(sessionId);
+        return window == null ? null : window.turns;
+    }
+
+    /**
+     * Cache the window of a session read from the index, unless a newer window was cached in the meantime.
+     * @param sessionId session id
+     * @param turns turns of the session, oldest first
+     */
+    public void putIfAbsent(String sessionId, List<ConversationTurn> turns) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            cache.computeIfAbsent(sessionId, key -> new Window(window(turns), System.nanoTime()));
+        } catch (ExecutionException e) {
+            log.debug("Failed to cache history of session {}", sessionId, e);
+        }
+    }
+
+    /**
+     * Append a newly written turn to the cached window of a session.
+     * @param sessionId session id
+     * @param turn the turn that was written
+     * @param newSession whether the turn is the first of the session, in which case the window is known to be complete
+     */
+    public void append(String sessionId, ConversationTurn turn, boolean newSession) {
+        if (!enabled) {
+            return;
+        }
+        Window current = newSession ? new Window(Collections.emptyList(), System.nanoTime()) : current(sessionId);
+        if (current == null) {
+            // The window of this session is unknown, the next read goes to the index.
+            return;
+        }
+        List<ConversationTurn> turns = new ArrayList<>(current.turns.size() + 1);
+        turns.addAll(current.turns);
+        turns.add(turn);
+        // The window keeps the load time of the one it extends, so appending never extends its life
+        cache.put(sessionId, new Window(window(turns), current.loadedNanos));
+    }
+
+    public void invalidate(String sessionId) {
+        cache.invalidate(sessionId);
+    }
+
+    public Cache.CacheStats stats() {
+        return cache.stats();
+    }
+
+    public int count() {
+        return cache.count();
+    }
+
+    public long weight() {
+        return cache.weight();
+    }
+
+    private Window current(String sessionId) {
+        Window window = cache.get(sessionId);
+        if (window != null && System.nanoTime() - window.loadedNanos > expireAfterNanos) {
+            cache.invalidate(sessionId);
+            return null;
+        }
+        return window;
+    }
+
+    private List<ConversationTurn> window(List<ConversationTurn> turns) {
+        int from = Math.max(0, turns.size() - maxTurns);
+        return Collections.unmodifiableList(new ArrayList<>(turns.subList(from, turns.size())));
+    }
+
+    private static long weigh(String sessionId, List<ConversationTurn> turns) {
+        long weight = 2L * sessionId.length();
+        for (ConversationTurn turn : turns) {
+            weight += turn.ramBytesUsed();
+        }
+        return weight;
+    }
+
+    private static class Window {
+        private final List<ConversationTurn> turns;
+        // When the window was first read from the index or started by a new session
+        private final long loadedNanos;
+
+        Window(List<ConversationTurn> turns, long loadedNanos) {
+            this.turns = turns;
+            this.loadedNanos = loadedNanos;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Rolling summary of the older turns of a session.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class SessionSummary {
+    public static final SessionSummary EMPTY = new SessionSummary(null, null);
+
+    private final String text;
+    // created time of the newest turn folded into the summary
+    private final Instant coveredUntil;
+
+    @Builder
+    public SessionSummary(String text, Instant coveredUntil) {
+        this.text = text;
+        this.coveredUntil = coveredUntil;
+    }
+
+    public boolean isEmpty() {
+        return text == null || coveredUntil == null;
+    }
+
+    /**
+     * Whether the turn is already folded into the summary.
+     */
+    public boolean covers(ConversationTurn turn) {
+        return !isEmpty() && turn.getCreatedTime() != null && !turn.getCreatedTime().isAfter(coveredUntil);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory.opensearch;
+
+import static org.opensearch.conversation.common.CommonValue.PERSIST_THREAD_POOL;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_ASYNC_PERSISTENCE;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_PERSIST_MAX_RETRIES;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_PERSIST_RETRY_BACKOFF;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Runs conversation writes off the request path on the plugin's persist thread pool. A write that fails with a
+ * transient error is retried with exponential backoff, and a write that still fails is counted and logged.
+ *
+ * Writes handed to this class must be idempotent, e.g. by carrying their document id, since a retry may repeat a write
+ * that was applied but whose response was lost.
+ */
+@Log4j2
+public class AsyncPersistence {
+    private final ThreadPool threadPool;
+    private final BackoffPolicy backoffPolicy;
+    private final CounterMetric submitted = new CounterMetric();
+    private final CounterMetric retried = new CounterMetric();
+    private final CounterMetric failed = new CounterMetric();
+
+    private volatile boolean enabled;
+
+    public AsyncPersistence(Settings settings, ClusterService clusterService, ThreadPool threadPool) {
+        this.threadPool = threadPool;
+        this.backoffPolicy = BackoffPolicy
+            .exponentialBackoff(MESSAGE_PERSIST_RETRY_BACKOFF.get(settings), MESSAGE_PERSIST_MAX_RETRIES.get(settings));
+        this.enabled = MESSAGE_ASYNC_PERSISTENCE.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MESSAGE_ASYNC_PERSISTENCE, it -> enabled = it);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Run a write in the background.
+     * @param description what is written, used in logs
+     * @param write the write, notifying its listener once it is done
+     * @param listener notified once the write succeeded or failed for good
+     */
+    public void execute(String description, Consumer<ActionListener<Void>> write, ActionListener<Void> listener) {
+        submitted.inc();
+        attempt(description, write, backoffPolicy.iterator(), listener);
+    }
+
+    public long getSubmittedCount() {
+        return submitted.count();
+    }
+
+    public long getRetriedCount() {
+        return retried.count();
+    }
+
+    public long getFailedCount() {
+        return failed.count();
+    }
+
+    private void attempt(
+        String description,
+        Consumer<ActionListener<Void>> write,
+        Iterator<TimeValue> backoff,
+        ActionListener<Void> listener
+    ) {
+        try {
+            ActionListener<Void> attemptListener = ActionListener
+                .wrap(listener::onResponse, e -> retryOrFail(description, write, backoff, listener, e));
+            // A full persist pool rejects with a 429, which is retried like a rejected write
+            threadPool.executor(PERSIST_THREAD_POOL).execute(ActionRunnable.wrap(attemptListener, write::accept));
+        } catch (Exception e) {
+            retryOrFail(description, write, backoff, listener, e);
+        }
+    }
+
+    private void retryOrFail(
+        String description,
+        Consumer<ActionListener<Void>> write,
+        Iterator<TimeValue> backoff,
+        ActionListener<Void> listener,
+        Exception e
+    ) {
+        if (!isRetryable(e) || !backoff.hasNext()) {
+            fail(description, e, listener);
+            return;
+        }
+        TimeValue delay = backoff.next();
+        retried.inc();
+        log.debug("Retrying {} in {}", description, delay, e);
+        try {
+            // The retry only hands the write to the persist pool, so it runs on the scheduler thread and a rejection
+            // by the persist pool is seen by attempt instead of being dropped by the scheduler.
+            threadPool.schedule(() -> attempt(description, write, backoff, listener), delay, ThreadPool.Names.SAME);
+        } catch (Exception inner) {
+            fail(description, inner, listener);
+        }
+    }
+
+    private void fail(String description, Exception e, ActionListener<Void> listener) {
+        failed.inc();
+        log.error("Failed to persist {}", description, e);
+        listener.onFailure(e);
+    }
+
+    private static boolean isRetryable(Exception e) {
+        RestStatus status = ExceptionsHelper.status(ExceptionsHelper.unwrapCause(e));
+        return status == RestStatus.TOO_MANY_REQUESTS || status.getStatus() >= 500;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory.opensearch;
+
+import static org.opensearch.conversation.common.CommonValue.PERSIST_THREAD_POOL;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_BULK_ACTIONS;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_BULK_SIZE;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_DURABILITY;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_FLUSH_INTERVAL;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.support.ContextPreservingActionListener;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.AbstractRunnable;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Write-behind buffer that groups conversation documents into bulk requests. A bulk is sent once the buffer holds
+ * enough actions or bytes, or once the flush interval has passed since the first buffered write, whichever comes
+ * first. Each write still gets its own response, taken from the matching bulk item.
+ *
+ * Writes are grouped by refresh policy, so a write that has to wait for a refresh never delays the ones that don't.
+ */
+@Log4j2
+public class BulkIndexBuffer implements Closeable {
+    private final Client client;
+    private final ThreadPool threadPool;
+    private final WriteDurability durability;
+    private final int bulkActions;
+    private final long bulkSizeInBytes;
+    private final TimeValue flushInterval;
+
+    private final Map<WriteRequest.RefreshPolicy, PendingBulk> pending = new EnumMap<>(WriteRequest.RefreshPolicy.class);
+    private int pendingActions;
+    private long pendingBytes;
+    private boolean flushScheduled;
+    private boolean closed;
+
+    public BulkIndexBuffer(Client client, ThreadPool threadPool, Settings settings) {
+        this.client = client;
+        this.threadPool = threadPool;
+        this.durability = WriteDurability.from(MESSAGE_DURABILITY.get(settings));
+        this.bulkActions = MESSAGE_BULK_ACTIONS.get(settings);
+        this.bulkSizeInBytes = MESSAGE_BULK_SIZE.get(settings).getBytes();
+        this.flushInterval = MESSAGE_FLUSH_INTERVAL.get(settings);
+    }
+
+    public WriteDurability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Buffer a write request.
+     * @param request the write request, its own refresh policy is ignored
+     * @param refreshPolicy refresh policy of the bulk request carrying the write
+     * @param listener notified with the bulk item response of the write, in the thread context of the caller
+     */
+    public void add(DocWriteRequest<?> request, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<DocWriteResponse> listener) {
+        ActionListener<DocWriteResponse> contextPreservingListener = ContextPreservingActionListener
+            .wrapPreservingContext(listener, client.threadPool().getThreadContext());
+        List<PendingBulk> toFlush = null;
+        boolean scheduleFlush = false;
+        boolean rejected = false;
+        synchronized (this) {
+            if (closed) {
+                rejected = true;
+            } else {
+                PendingBulk bulk = pending.computeIfAbsent(refreshPolicy, PendingBulk::new);
+                long sizeBefore = bulk.request.estimatedSizeInBytes();
+                bulk.add(request, contextPreservingListener);
+                pendingActions++;
+                pendingBytes += bulk.request.estimatedSizeInBytes() - sizeBefore;
+                if (pendingActions >= bulkActions || pendingBytes >= bulkSizeInBytes) {
+                    toFlush = drain();
+                } else if (!flushScheduled) {
+                    flushScheduled = true;
+                    scheduleFlush = true;
+                }
+            }
+        }
+        if (rejected) {
+            listener.onFailure(new IllegalStateException("Conversation bulk index buffer is closed"));
+        } else if (toFlush != null) {
+            execute(toFlush);
+        } else if (scheduleFlush) {
+            threadPool.schedule(new AbstractRunnable() {
+                @Override
+                public void onFailure(Exception e) {
+                    log.error("Failed to flush conversation bulk index buffer", e);
+                }
+
+                @Override
+                public void onRejection(Exception e) {
+                    // A full persist pool must not leave the buffered writes waiting for a flush that never runs
+                    log.warn("Scheduled flush of conversation bulk index buffer rejected, flushing on the scheduler thread");
+                    scheduledFlush();
+                }
+
+                @Override
+                protected void doRun() {
+                    scheduledFlush();
+                }
+            }, flushInterval, PERSIST_THREAD_POOL);
+        }
+    }
+
+    /**
+     * Send all buffered writes right away.
+     */
+    public void flush() {
+        List<PendingBulk> toFlush;
+        synchronized (this) {
+            toFlush = drain();
+        }
+        execute(toFlush);
+    }
+
+    @Override
+    public void close() {
+        List<PendingBulk> toFlush;
+        synchronized (this) {
+            closed = true;
+            toFlush = drain();
+        }
+        execute(toFlush);
+    }
+
+    private void scheduledFlush() {
+        List<PendingBulk> toFlush;
+        synchronized (this) {
+            flushScheduled = false;
+            toFlush = drain();
+        }
+        execute(toFlush);
+    }
+
+    private List<PendingBulk> drain() {
+        List<PendingBulk> bulks = new ArrayList<>(pending.values());
+        pending.clear();
+        pendingActions = 0;
+        pendingBytes = 0;
+        return bulks;
+    }
+
+    private void execute(List<PendingBulk> bulks) {
+        for (PendingBulk bulk : bulks) {
+            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                ActionListener<BulkResponse> bulkListener = ActionListener.wrap(r -> {
+                    log.debug("Bulk of {} conversation writes took {}", bulk.listeners.size(), r.getTook());
+                    bulk.onResponse(r);
+                }, e -> {
+                    log.error("Failed to bulk index {} conversation writes", bulk.listeners.size(), e);
+                    bulk.onFailure(e);
+                });
+                client.bulk(bulk.request, ActionListener.runBefore(bulkListener, context::restore));
+            } catch (Exception e) {
+                log.error("Failed to send conversation bulk request", e);
+                bulk.onFailure(e);
+            }
+        }
+    }
+
+    private static class PendingBulk {
+        private final BulkRequest request = new BulkRequest();
+        private final List<ActionListener<DocWriteResponse>> listeners = new ArrayList<>();
+
+        PendingBulk(WriteRequest.RefreshPolicy refreshPolicy) {
+            request.setRefreshPolicy(refreshPolicy);
+        }
+
+        void add(DocWriteRequest<?> write, ActionListener<DocWriteResponse> listener) {
+            request.add(write);
+            listeners.add(listener);
+        }
+
+        void onResponse(BulkResponse response) {
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < listeners.size(); i++) {
+                ActionListener<DocWriteResponse> listener = listeners.get(i);
+                try {
+                    BulkItemResponse item = items[i];
+                    if (item.isFailed()) {
+                        listener.onFailure(item.getFailure().getCause());
+                    } else {
+                        listener.onResponse(item.getResponse());
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to notify conversation write listener", e);
+                }
+            }
+        }
+
+        void onFailure(Exception e) {
+            for (ActionListener<DocWriteResponse> listener : listeners) {
+                try {
+                    listener.onFailure(e);
+                } catch (Exception inner) {
+                    log.error("Failed to notify conversation write listener", inner);
+                }
+            }
+        }
+    }
+}
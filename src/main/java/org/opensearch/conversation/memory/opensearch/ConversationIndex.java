@@ -5,28 +5,50 @@
 
 package org.opensearch.conversation.memory.opensearch;
 
+import static org.opensearch.conversation.common.CommonValue.ANSWER_CACHE_INDEX;
+import static org.opensearch.conversation.common.CommonValue.ANSWER_CACHE_INDEX_MAPPING;
+import static org.opensearch.conversation.common.CommonValue.ANSWER_CACHE_INDEX_SCHEMA_VERSION;
+import static org.opensearch.conversation.common.CommonValue.ANSWER_CACHE_INDEX_SETTINGS;
 import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX;
 import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX_MAPPING;
 import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX_SCHEMA_VERSION;
+import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX_SETTINGS;
 import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX;
 import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX_MAPPING;
 import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX_SCHEMA_VERSION;
+import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX_SETTINGS;
 
 public enum ConversationIndex {
-    METADATA(SESSION_METADATA_INDEX, false, SESSION_METADATA_INDEX_MAPPING, SESSION_METADATA_INDEX_SCHEMA_VERSION),
-    MESSAGE(MESSAGE_INDEX, false, MESSAGE_INDEX_MAPPING, MESSAGE_INDEX_SCHEMA_VERSION);
+    METADATA(
+        SESSION_METADATA_INDEX,
+        false,
+        SESSION_METADATA_INDEX_MAPPING,
+        SESSION_METADATA_INDEX_SCHEMA_VERSION,
+        SESSION_METADATA_INDEX_SETTINGS
+    ),
+    MESSAGE(MESSAGE_INDEX, true, MESSAGE_INDEX_MAPPING, MESSAGE_INDEX_SCHEMA_VERSION, MESSAGE_INDEX_SETTINGS),
+    ANSWER_CACHE(
+        ANSWER_CACHE_INDEX,
+        false,
+        ANSWER_CACHE_INDEX_MAPPING,
+        ANSWER_CACHE_INDEX_SCHEMA_VERSION,
+        ANSWER_CACHE_INDEX_SETTINGS
+    );
 
     private final String indexName;
     // whether we use an alias for the index
     private final boolean alias;
     private final String mapping;
     private final Integer version;
+    // settings only applied when the index is created, e.g. index sorting
+    private final String settings;
 
-    ConversationIndex(String name, boolean alias, String mapping, Integer version) {
+    ConversationIndex(String name, boolean alias, String mapping, Integer version, String settings) {
         this.indexName = name;
         this.alias = alias;
         this.mapping = mapping;
         this.version = version;
+        this.settings = settings;
     }
 
     public String getIndexName() {
@@ -37,6 +59,13 @@ public enum ConversationIndex {
         return alias;
     }
 
+    /**
+     * Name of the first index behind the alias, later generations are named by rollover.
+     */
+    public String getFirstGenerationName() {
+        return indexName + "-000001";
+    }
+
     public String getMapping() {
         return mapping;
     }
@@ -44,4 +73,8 @@ public enum ConversationIndex {
     public Integer getVersion() {
         return version;
     }
+
+    public String getSettings() {
+        return settings;
+    }
 }
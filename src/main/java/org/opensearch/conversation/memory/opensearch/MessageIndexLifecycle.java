@@ -0,0 +1,249 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory.opensearch;
+
+import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX;
+import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_RETENTION;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_ROLLOVER_CHECK_INTERVAL;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_ROLLOVER_MAX_AGE;
+import static org.opensearch.conversation.settings.ConversationSettings.MESSAGE_ROLLOVER_MAX_SIZE;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.StepListener;
+import org.opensearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.rollover.RolloverInfo;
+import org.opensearch.action.admin.indices.rollover.RolloverRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.ReindexAction;
+import org.opensearch.index.reindex.ReindexRequest;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Rolls the message index over by age and size, and drops whole generations once they are past retention, so the index
+ * turns are written to stays small and old turns go away without a delete by query.
+ *
+ * Runs periodically on the elected cluster manager only. A message index created before rollover is a concrete index,
+ * it is first moved behind the alias as its first generation.
+ */
+@Log4j2
+public class MessageIndexLifecycle implements Closeable {
+    // Longest time between answering a turn and writing it that the migration of a legacy message index allows for
+    private static final TimeValue MIGRATION_WRITE_DELAY = TimeValue.timeValueMinutes(10);
+    private static final String MIGRATION_SCRIPT = OpensearchIndicesHandler.MESSAGE_ID_BACKFILL_SCRIPT
+        + " ctx._routing = ctx._source."
+        + SESSION_ID_FIELD
+        + ";";
+
+    private final ClusterService clusterService;
+    private final Client client;
+    private final ThreadPool threadPool;
+    private final TimeValue checkInterval;
+
+    private volatile TimeValue maxAge;
+    private volatile ByteSizeValue maxSize;
+    private volatile TimeValue retention;
+    private volatile Scheduler.Cancellable scheduledCheck;
+    private final AtomicBoolean migrating = new AtomicBoolean();
+
+    public MessageIndexLifecycle(Settings settings, ClusterService clusterService, Client client, ThreadPool threadPool) {
+        this.clusterService = clusterService;
+        this.client = client;
+        this.threadPool = threadPool;
+        this.checkInterval = MESSAGE_ROLLOVER_CHECK_INTERVAL.get(settings);
+        this.maxAge = MESSAGE_ROLLOVER_MAX_AGE.get(settings);
+        this.maxSize = MESSAGE_ROLLOVER_MAX_SIZE.get(settings);
+        this.retention = MESSAGE_RETENTION.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MESSAGE_ROLLOVER_MAX_AGE, it -> maxAge = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MESSAGE_ROLLOVER_MAX_SIZE, it -> maxSize = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MESSAGE_RETENTION, it -> retention = it);
+    }
+
+    public void start() {
+        // Not the persist pool: one rejected run would cancel the check for good
+        scheduledCheck = threadPool.scheduleWithFixedDelay(this::check, checkInterval, ThreadPool.Names.GENERIC);
+    }
+
+    @Override
+    public void close() {
+        Scheduler.Cancellable check = scheduledCheck;
+        if (check != null) {
+            check.cancel();
+        }
+    }
+
+    void check() {
+        ClusterState state = clusterService.state();
+        if (!state.nodes().isLocalNodeElectedClusterManager()) {
+            return;
+        }
+        IndexAbstraction abstraction = state.metadata().getIndicesLookup().get(MESSAGE_INDEX);
+        if (abstraction == null) {
+            return;
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            if (abstraction.getType() != IndexAbstraction.Type.ALIAS) {
+                migrateLegacyIndex(state);
+                return;
+            }
+            rollover();
+            deleteExpired(abstraction);
+        } catch (Exception e) {
+            log.error("Failed to manage message index generations", e);
+        }
+    }
+
+    /**
+     * Move a message index from before rollover behind the alias. Its turns are copied into the first generation
+     * while it still takes writes, then writes are blocked and the turns written since the copy started are copied
+     * again. Last, a single alias update deletes the legacy index and points the alias at the first generation.
+     *
+     * Writes are only blocked while the turns of the last {@link #MIGRATION_WRITE_DELAY} are copied and the alias is
+     * updated, usually a few seconds. Blocked writes fail with a 429: chat turns retry them for up to 30 seconds, see
+     * TransportChatAction, other writes such as batch items fail.
+     *
+     * Turns are routed by session id and get a message id if they have none, like turns written to the alias.
+     */
+    private void migrateLegacyIndex(ClusterState state) {
+        if (!migrating.compareAndSet(false, true)) {
+            return;
+        }
+        String generation = ConversationIndex.MESSAGE.getFirstGenerationName();
+        // Turns carry the time they were answered, which is a bit before they are written
+        long copyFrom = threadPool.absoluteTimeInMillis() - MIGRATION_WRITE_DELAY.millis();
+        log.info("Moving legacy message index {} behind its alias as {}", MESSAGE_INDEX, generation);
+
+        StepListener<Void> createStep = new StepListener<>();
+        StepListener<Void> copyStep = new StepListener<>();
+        StepListener<Void> blockStep = new StepListener<>();
+        StepListener<Void> copyRecentStep = new StepListener<>();
+        ActionListener<Void> failureListener = ActionListener.wrap(r -> {}, e -> {
+            log.error("Failed to move legacy message index behind its alias, retrying with the next check", e);
+            setWriteBlock(false, ActionListener.wrap(() -> migrating.set(false)));
+        });
+
+        if (state.metadata().hasIndex(generation)) {
+            // Left over from a failed attempt, copying again overwrites its turns
+            createStep.onResponse(null);
+        } else {
+            CreateIndexRequest createIndexRequest = new CreateIndexRequest(generation)
+                .settings(ConversationIndex.MESSAGE.getSettings(), XContentType.JSON)
+                .mapping(ConversationIndex.MESSAGE.getMapping());
+            client.admin().indices().create(createIndexRequest, ActionListener.map(createStep, r -> null));
+        }
+        createStep.whenComplete(r -> copyTurns(generation, null, copyStep), failureListener::onFailure);
+        copyStep.whenComplete(r -> setWriteBlock(true, blockStep), failureListener::onFailure);
+        blockStep.whenComplete(r -> copyTurns(generation, copyFrom, copyRecentStep), failureListener::onFailure);
+        copyRecentStep.whenComplete(r -> {
+            IndicesAliasesRequest aliasesRequest = new IndicesAliasesRequest()
+                .addAliasAction(IndicesAliasesRequest.AliasActions.removeIndex().index(MESSAGE_INDEX))
+                .addAliasAction(IndicesAliasesRequest.AliasActions.add().index(generation).alias(MESSAGE_INDEX).writeIndex(true));
+            client.admin().indices().aliases(aliasesRequest, ActionListener.wrap(response -> {
+                log.info("Moved legacy message index behind its alias as {}", generation);
+                migrating.set(false);
+            }, failureListener::onFailure));
+        }, failureListener::onFailure);
+    }
+
+    private void copyTurns(String generation, Long createdFrom, ActionListener<Void> listener) {
+        ReindexRequest reindexRequest = new ReindexRequest()
+            .setSourceIndices(MESSAGE_INDEX)
+            .setDestIndex(generation)
+            .setScript(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, MIGRATION_SCRIPT, Map.of()))
+            .setAbortOnVersionConflict(false)
+            .setRefresh(createdFrom != null);
+        if (createdFrom != null) {
+            reindexRequest.setSourceQuery(QueryBuilders.rangeQuery(CREATED_TIME_FIELD).gte(createdFrom));
+        }
+        client.execute(ReindexAction.INSTANCE, reindexRequest, ActionListener.wrap(r -> {
+            if (!r.getBulkFailures().isEmpty() || !r.getSearchFailures().isEmpty()) {
+                listener.onFailure(new IllegalStateException("Failed to copy turns into " + generation + ": " + r));
+                return;
+            }
+            log.info("Copied {} turns of legacy message index into {}", r.getCreated() + r.getUpdated(), generation);
+            listener.onResponse(null);
+        }, listener::onFailure));
+    }
+
+    // A read_only_allow_delete block rejects writes with a 429 and still lets the index be deleted
+    private void setWriteBlock(boolean blocked, ActionListener<Void> listener) {
+        Settings.Builder block = Settings.builder();
+        if (blocked) {
+            block.put(IndexMetadata.SETTING_READ_ONLY_ALLOW_DELETE, true);
+        } else {
+            block.putNull(IndexMetadata.SETTING_READ_ONLY_ALLOW_DELETE);
+        }
+        UpdateSettingsRequest updateSettingsRequest = new UpdateSettingsRequest(MESSAGE_INDEX).settings(block);
+        client.admin().indices().updateSettings(updateSettingsRequest, ActionListener.map(listener, r -> null));
+    }
+
+    private void rollover() {
+        RolloverRequest rolloverRequest = new RolloverRequest(MESSAGE_INDEX, null);
+        rolloverRequest.addMaxIndexAgeCondition(maxAge);
+        rolloverRequest.addMaxIndexSizeCondition(maxSize);
+        // Rollover doesn't copy the mapping, the new generation gets the current one
+        rolloverRequest
+            .getCreateIndexRequest()
+            .settings(ConversationIndex.MESSAGE.getSettings(), XContentType.JSON)
+            .mapping(ConversationIndex.MESSAGE.getMapping());
+        client.admin().indices().rolloverIndex(rolloverRequest, ActionListener.wrap(r -> {
+            if (r.isRolledOver()) {
+                log.info("Rolled message index over from {} to {}", r.getOldIndex(), r.getNewIndex());
+            }
+        }, e -> log.error("Failed to roll message index over", e)));
+    }
+
+    private void deleteExpired(IndexAbstraction abstraction) {
+        TimeValue keep = retention;
+        if (keep.millis() < 0) {
+            return;
+        }
+        long cutoff = threadPool.absoluteTimeInMillis() - keep.millis();
+        IndexMetadata writeIndex = abstraction.getWriteIndex();
+        List<String> expired = new ArrayList<>();
+        for (IndexMetadata indexMetadata : abstraction.getIndices()) {
+            if (indexMetadata == writeIndex) {
+                continue;
+            }
+            // A generation holds nothing newer than the time it was rolled over
+            RolloverInfo rolloverInfo = indexMetadata.getRolloverInfos().get(MESSAGE_INDEX);
+            if (rolloverInfo != null && rolloverInfo.getTime() < cutoff) {
+                expired.add(indexMetadata.getIndex().getName());
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        client.admin().indices().delete(new DeleteIndexRequest(expired.toArray(new String[0])), ActionListener.wrap(r -> {
+            log.info("Deleted message indices past retention: {}", expired);
+        }, e -> log.error("Failed to delete message indices past retention {}", expired, e)));
+    }
+}
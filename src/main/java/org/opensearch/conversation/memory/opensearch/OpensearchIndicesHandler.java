@@ -5,44 +5,76 @@
 
 package org.opensearch.conversation.memory.opensearch;
 
-import static org.opensearch.conversation.common.CommonValue.MESSAGE_INDEX;
+import static org.opensearch.conversation.common.CommonValue.MESSAGE_ID_FIELD;
 import static org.opensearch.conversation.common.CommonValue.META;
 import static org.opensearch.conversation.common.CommonValue.NO_SCHEMA_VERSION;
 import static org.opensearch.conversation.common.CommonValue.SCHEMA_VERSION_FIELD;
-import static org.opensearch.conversation.common.CommonValue.SESSION_METADATA_INDEX;
+import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.log4j.Log4j2;
 
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.alias.Alias;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.action.support.ContextPreservingActionListener;
 import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexAbstraction;
 import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.UpdateByQueryAction;
+import org.opensearch.index.reindex.UpdateByQueryRequest;
 import org.opensearch.ml.common.exception.MLException;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
 
+/**
+ * Creates the conversation indices and keeps their mappings up to date. An index backed by an alias is created as its
+ * first generation with the alias as write alias, and mapping updates go through the alias to every generation.
+ *
+ * Whether an index exists with an up-to-date mapping is tracked per index and refreshed from cluster state changes,
+ * so once an index is ready, {@link #initConversationIndexIfAbsent} answers without touching cluster state or
+ * allocating. Concurrent calls for an index that is not ready yet share a single create or put mapping request.
+ */
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
 @Log4j2
-public class OpensearchIndicesHandler {
+public class OpensearchIndicesHandler implements ClusterStateListener {
+    private static final ConversationIndex[] INDICES = ConversationIndex.values();
+    // Turns written before message ids existed get their document id as message id
+    static final String MESSAGE_ID_BACKFILL_SCRIPT = "if (ctx._source."
+        + MESSAGE_ID_FIELD
+        + " == null) { ctx._source."
+        + MESSAGE_ID_FIELD
+        + " = ctx._id }";
+
     ClusterService clusterService;
     Client client;
 
-    private static final Map<String, AtomicBoolean> indexMappingUpdated = new HashMap<>();
-    static {
-        indexMappingUpdated.put(SESSION_METADATA_INDEX, new AtomicBoolean(false));
-        indexMappingUpdated.put(MESSAGE_INDEX, new AtomicBoolean(false));
-    }
+    // 1 if the index exists with an up-to-date mapping, by ConversationIndex ordinal
+    AtomicIntegerArray ready = new AtomicIntegerArray(INDICES.length);
+    // listeners waiting for the in-flight initialization of an index, by ConversationIndex ordinal, guarded by this
+    @SuppressWarnings("unchecked")
+    List<ActionListener<Boolean>>[] pendingListeners = new List[INDICES.length];
+    // whether the message index was created with the session layout, i.e. its turns are routed by session id
+    @NonFinal
+    volatile boolean messagesRoutedBySession;
 
     public void initSessionMetaIndex(ActionListener<Boolean> listener) {
         initConversationIndexIfAbsent(ConversationIndex.METADATA, listener);
@@ -52,13 +84,107 @@ public class OpensearchIndicesHandler {
         initConversationIndexIfAbsent(ConversationIndex.MESSAGE, listener);
     }
 
+    public boolean isReady(ConversationIndex index) {
+        return ready.get(index.ordinal()) == 1;
+    }
+
+    /**
+     * Whether reads of a session's turns can be routed by session id. Message indices created before turns were routed
+     * hold turns on every shard and have to be searched without routing.
+     */
+    public boolean isMessageIndexRoutedBySession() {
+        return messagesRoutedBySession;
+    }
+
     public void initConversationIndexIfAbsent(ConversationIndex index, ActionListener<Boolean> listener) {
+        if (isReady(index)) {
+            listener.onResponse(true);
+            return;
+        }
+
+        ActionListener<Boolean> contextPreservingListener = ContextPreservingActionListener
+            .wrapPreservingContext(listener, client.threadPool().getThreadContext());
+        synchronized (this) {
+            List<ActionListener<Boolean>> waiting = pendingListeners[index.ordinal()];
+            if (waiting != null) {
+                waiting.add(contextPreservingListener);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(contextPreservingListener);
+            pendingListeners[index.ordinal()] = waiting;
+        }
+        initIndex(index, ActionListener.wrap(r -> {
+            if (r) {
+                ready.set(index.ordinal(), 1);
+            }
+            ActionListener.onResponse(takePendingListeners(index), r);
+        }, e -> ActionListener.onFailure(takePendingListeners(index), e)));
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if (!event.metadataChanged()) {
+            return;
+        }
+        Metadata previous = event.previousState().metadata();
+        Metadata current = event.state().metadata();
+        for (ConversationIndex index : INDICES) {
+            IndexAbstraction abstraction = current.getIndicesLookup().get(index.getIndexName());
+            if (sameIndices(previous.getIndicesLookup().get(index.getIndexName()), abstraction)) {
+                continue;
+            }
+            IndexMetadata writeIndex = abstraction == null ? null : abstraction.getWriteIndex();
+            boolean upToDate = writeIndex != null && schemaVersion(writeIndex) >= index.getVersion();
+            ready.set(index.ordinal(), upToDate ? 1 : 0);
+            if (index == ConversationIndex.MESSAGE) {
+                messagesRoutedBySession = abstraction != null
+                    && abstraction.getIndices().stream().allMatch(OpensearchIndicesHandler::isSortedBySession);
+            }
+        }
+    }
+
+    /**
+     * Whether two versions of an index or alias point to the same indices with the same mappings. The lookup is rebuilt
+     * on every metadata change, so its entries can't be compared by identity.
+     */
+    private static boolean sameIndices(IndexAbstraction previous, IndexAbstraction current) {
+        if (previous == null || current == null) {
+            return previous == current;
+        }
+        List<IndexMetadata> previousIndices = previous.getIndices();
+        List<IndexMetadata> currentIndices = current.getIndices();
+        if (previousIndices.size() != currentIndices.size()) {
+            return false;
+        }
+        for (int i = 0; i < currentIndices.size(); i++) {
+            IndexMetadata before = previousIndices.get(i);
+            IndexMetadata after = currentIndices.get(i);
+            if (!before.getIndexUUID().equals(after.getIndexUUID()) || before.getMappingVersion() != after.getMappingVersion()) {
+                return false;
+            }
+        }
+        IndexMetadata previousWriteIndex = previous.getWriteIndex();
+        IndexMetadata currentWriteIndex = current.getWriteIndex();
+        if (previousWriteIndex == null || currentWriteIndex == null) {
+            return previousWriteIndex == currentWriteIndex;
+        }
+        return previousWriteIndex.getIndexUUID().equals(currentWriteIndex.getIndexUUID());
+    }
+
+    private synchronized List<ActionListener<Boolean>> takePendingListeners(ConversationIndex index) {
+        List<ActionListener<Boolean>> waiting = pendingListeners[index.ordinal()];
+        pendingListeners[index.ordinal()] = null;
+        return waiting;
+    }
+
+    private void initIndex(ConversationIndex index, ActionListener<Boolean> listener) {
         String indexName = index.getIndexName();
         String mapping = index.getMapping();
 
         try (ThreadContext.StoredContext threadContext = client.threadPool().getThreadContext().stashContext()) {
             ActionListener<Boolean> internalListener = ActionListener.runBefore(listener, () -> threadContext.restore());
-            if (!clusterService.state().metadata().hasIndex(indexName)) {
+            if (!clusterService.state().metadata().getIndicesLookup().containsKey(indexName)) {
                 ActionListener<CreateIndexResponse> actionListener = ActionListener.wrap(r -> {
                     if (r.isAcknowledged()) {
                         log.info("create index:{}", indexName);
@@ -67,66 +193,97 @@ public class OpensearchIndicesHandler {
                         internalListener.onResponse(false);
                     }
                 }, e -> {
-                    log.error("Failed to create index " + indexName, e);
+                    log.error("Failed to create index {}", indexName, e);
                     internalListener.onFailure(e);
                 });
-                CreateIndexRequest request = new CreateIndexRequest(indexName).mapping(mapping);
+                CreateIndexRequest request;
+                if (index.isAlias()) {
+                    request = new CreateIndexRequest(index.getFirstGenerationName()).alias(new Alias(indexName).writeIndex(true));
+                } else {
+                    request = new CreateIndexRequest(indexName);
+                }
+                request.settings(index.getSettings(), XContentType.JSON).mapping(mapping);
                 client.admin().indices().create(request, actionListener);
             } else {
                 log.debug("index:{} is already created", indexName);
-                if (indexMappingUpdated.containsKey(indexName) && !indexMappingUpdated.get(indexName).get()) {
-                    shouldUpdateIndex(indexName, index.getVersion(), ActionListener.wrap(r -> {
-                        if (r) {
-                            // return true if should update index
-                            client.admin()
-                                .indices()
-                                .putMapping(
-                                    new PutMappingRequest().indices(indexName).source(mapping, XContentType.JSON),
-                                    ActionListener.wrap(response -> {
-                                        if (response.isAcknowledged()) {
-                                            indexMappingUpdated.get(indexName).set(true);
-                                            internalListener.onResponse(true);
-                                        } else {
-                                            internalListener.onFailure(new MLException("Failed to update index: " + indexName));
+                shouldUpdateIndex(indexName, index.getVersion(), ActionListener.wrap(r -> {
+                    if (r) {
+                        // return true if should update index
+                        client.admin()
+                            .indices()
+                            .putMapping(
+                                new PutMappingRequest().indices(indexName).source(mapping, XContentType.JSON),
+                                ActionListener.wrap(response -> {
+                                    if (response.isAcknowledged()) {
+                                        if (index == ConversationIndex.MESSAGE) {
+                                            backfillMessageIds();
                                         }
-                                    }, exception -> {
-                                        log.error("Failed to update index " + indexName, exception);
-                                        internalListener.onFailure(exception);
-                                    })
-                                );
-                        } else {
-                            // no need to update index if it does not exist or the version is already up-to-date.
-                            indexMappingUpdated.get(indexName).set(true);
-                            internalListener.onResponse(true);
-                        }
-                    }, e -> {
-                        log.error("Failed to update index mapping", e);
-                        internalListener.onFailure(e);
-                    }));
-                } else {
-                    // No need to update index if it's not ML system index or it's already updated.
-                    internalListener.onResponse(true);
-                }
+                                        internalListener.onResponse(true);
+                                    } else {
+                                        internalListener.onFailure(new MLException("Failed to update index: " + indexName));
+                                    }
+                                }, exception -> {
+                                    log.error("Failed to update index {}", indexName, exception);
+                                    internalListener.onFailure(exception);
+                                })
+                            );
+                    } else {
+                        // no need to update index if it does not exist or the version is already up-to-date.
+                        internalListener.onResponse(true);
+                    }
+                }, e -> {
+                    log.error("Failed to update index mapping", e);
+                    internalListener.onFailure(e);
+                }));
             }
         } catch (Exception e) {
-            log.error("Failed to init index " + indexName, e);
+            log.error("Failed to init index {}", indexName, e);
             listener.onFailure(e);
         }
     }
 
+    /**
+     * Give the turns written before message ids existed their document id as message id, so that every turn has a unique
+     * sort key for paging. Runs in the background after the message index mapping is upgraded.
+     */
+    private void backfillMessageIds() {
+        UpdateByQueryRequest request = new UpdateByQueryRequest(ConversationIndex.MESSAGE.getIndexName());
+        request.setQuery(QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery(MESSAGE_ID_FIELD)));
+        request.setScript(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, MESSAGE_ID_BACKFILL_SCRIPT, Map.of()));
+        request.setAbortOnVersionConflict(false);
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            client.execute(UpdateByQueryAction.INSTANCE, request, ActionListener.runBefore(ActionListener.wrap(r -> {
+                log.info("Backfilled message ids of {} turns", r.getUpdated());
+            }, e -> log.error("Failed to backfill message ids", e)), context::restore));
+        }
+    }
+
     /**
      * Check if we should update index based on schema version.
-     * @param indexName index name
+     * @param indexName index or alias name, an alias is checked by its write index
      * @param newVersion new index mapping version
      * @param listener action listener, if should update index, will pass true to its onResponse method
      */
     public void shouldUpdateIndex(String indexName, Integer newVersion, ActionListener<Boolean> listener) {
-        IndexMetadata indexMetaData = clusterService.state().getMetadata().indices().get(indexName);
+        IndexAbstraction abstraction = clusterService.state().getMetadata().getIndicesLookup().get(indexName);
+        IndexMetadata indexMetaData = abstraction == null ? null : abstraction.getWriteIndex();
         if (indexMetaData == null) {
             listener.onResponse(Boolean.FALSE);
             return;
         }
-        Integer oldVersion = NO_SCHEMA_VERSION;
+        listener.onResponse(newVersion > schemaVersion(indexMetaData));
+    }
+
+    private static boolean isSortedBySession(IndexMetadata indexMetadata) {
+        List<String> sortFields = indexMetadata.getSettings().getAsList("index.sort.field");
+        return !sortFields.isEmpty() && SESSION_ID_FIELD.equals(sortFields.get(0));
+    }
+
+    private static Integer schemaVersion(IndexMetadata indexMetaData) {
+        Integer version = NO_SCHEMA_VERSION;
+        if (indexMetaData.mapping() == null) {
+            return version;
+        }
         Map<String, Object> indexMapping = indexMetaData.mapping().getSourceAsMap();
         Object meta = indexMapping.get(META);
         if (meta != null && meta instanceof Map) {
@@ -134,9 +291,9 @@ public class OpensearchIndicesHandler {
             Map<String, Object> metaMapping = (Map<String, Object>) meta;
             Object schemaVersion = metaMapping.get(SCHEMA_VERSION_FIELD);
             if (schemaVersion instanceof Integer) {
-                oldVersion = (Integer) schemaVersion;
+                version = (Integer) schemaVersion;
             }
         }
-        listener.onResponse(newVersion > oldVersion);
+        return version;
     }
 }
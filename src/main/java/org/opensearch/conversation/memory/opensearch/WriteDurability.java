@@ -0,0 +1,42 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.memory.opensearch;
+
+import java.util.Locale;
+
+import org.opensearch.action.support.WriteRequest;
+
+/**
+ * How conversation messages are persisted.
+ */
+public enum WriteDurability {
+    // Index each message on its own and refresh right away, so it is searchable when the turn returns.
+    IMMEDIATE,
+    // Buffer messages into bulk requests that wait for the next scheduled refresh before returning.
+    WAIT_FOR,
+    // Buffer messages into bulk requests that return once the write is acknowledged. The refresh is only waited for
+    // when nothing else gives read-your-writes, i.e. when the history cache is disabled.
+    BUFFERED;
+
+    public static WriteDurability from(String value) {
+        try {
+            return WriteDurability.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Wrong write durability: " + value);
+        }
+    }
+
+    public WriteRequest.RefreshPolicy refreshPolicy(boolean readYourWritesRequired) {
+        switch (this) {
+            case IMMEDIATE:
+                return WriteRequest.RefreshPolicy.IMMEDIATE;
+            case WAIT_FOR:
+                return WriteRequest.RefreshPolicy.WAIT_UNTIL;
+            default:
+                return readYourWritesRequired ? WriteRequest.RefreshPolicy.WAIT_UNTIL : WriteRequest.RefreshPolicy.NONE;
+        }
+    }
+}
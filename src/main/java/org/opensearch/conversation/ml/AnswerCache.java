@@ -0,0 +1,339 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.ml;
+
+import static org.opensearch.conversation.common.CommonValue.ANSWER_CACHE_INDEX;
+import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CACHE_KEY_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CHAT_HISTORY_FIELD;
+import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.MODEL_ID_FIELD;
+import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
+import static org.opensearch.conversation.settings.ConversationSettings.ANSWER_CACHE_ENABLED;
+import static org.opensearch.conversation.settings.ConversationSettings.ANSWER_CACHE_INCLUDE_HISTORY;
+import static org.opensearch.conversation.settings.ConversationSettings.ANSWER_CACHE_INDEX_ENABLED;
+import static org.opensearch.conversation.settings.ConversationSettings.ANSWER_CACHE_SIZE;
+import static org.opensearch.conversation.settings.ConversationSettings.ANSWER_CACHE_TTL;
+
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.hash.MurmurHash3;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.conversation.memory.opensearch.BulkIndexBuffer;
+import org.opensearch.conversation.memory.opensearch.ConversationIndex;
+import org.opensearch.conversation.memory.opensearch.OpensearchIndicesHandler;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.reindex.DeleteByQueryRequest;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Opt-in cache of model answers, so a question asked again of the same model is answered without another inference.
+ *
+ * Answers are keyed by model id, the user asking and the question, normalized for case, whitespace and trailing
+ * punctuation, plus a hash of the other prompt parameters sent with it, e.g. a system prompt or retrieved context. The
+ * chat history is part of that hash by default. They are kept in a node-local LRU cache bounded by heap size, and
+ * optionally in an index shared by all nodes, which is checked on a local miss. Both tiers serve an answer for the
+ * same TTL, expired documents are purged from the index by the elected cluster manager.
+ */
+@Log4j2
+public class AnswerCache implements Closeable {
+    private static final String[] SOURCE_FIELDS = new String[] { CACHE_KEY_FIELD, ANSWER_FIELD, CREATED_TIME_FIELD };
+
+    private final ClusterService clusterService;
+    private final Client client;
+    private final ThreadPool threadPool;
+    private final OpensearchIndicesHandler indicesHandler;
+    private final BulkIndexBuffer bulkIndexBuffer;
+    private final Cache<String, String> cache;
+    private final TimeValue ttl;
+    private final CounterMetric hits = new CounterMetric();
+    private final CounterMetric indexHits = new CounterMetric();
+    private final CounterMetric misses = new CounterMetric();
+
+    private volatile boolean enabled;
+    private volatile boolean includeHistory;
+    private volatile boolean indexEnabled;
+    private volatile Scheduler.Cancellable scheduledPurge;
+
+    public AnswerCache(
+        Settings settings,
+        ClusterService clusterService,
+        Client client,
+        ThreadPool threadPool,
+        OpensearchIndicesHandler indicesHandler,
+        BulkIndexBuffer bulkIndexBuffer
+    ) {
+        this.clusterService = clusterService;
+        this.client = client;
+        this.threadPool = threadPool;
+        this.indicesHandler = indicesHandler;
+        this.bulkIndexBuffer = bulkIndexBuffer;
+        this.ttl = ANSWER_CACHE_TTL.get(settings);
+        this.cache = CacheBuilder
+            .<String, String>builder()
+            .setMaximumWeight(ANSWER_CACHE_SIZE.get(settings).getBytes())
+            .setExpireAfterWrite(ttl)
+            .weigher((key, answer) -> 2L * (key.length() + answer.length()))
+            .build();
+
+        this.enabled = ANSWER_CACHE_ENABLED.get(settings);
+        this.includeHistory = ANSWER_CACHE_INCLUDE_HISTORY.get(settings);
+        this.indexEnabled = ANSWER_CACHE_INDEX_ENABLED.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ANSWER_CACHE_ENABLED, it -> {
+            enabled = it;
+            if (!it) {
+                cache.invalidateAll();
+            }
+        });
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ANSWER_CACHE_INCLUDE_HISTORY, it -> includeHistory = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ANSWER_CACHE_INDEX_ENABLED, it -> indexEnabled = it);
+    }
+
+    public void start() {
+        // The generic pool never rejects, a rejected run would stop the purge
+        scheduledPurge = threadPool.scheduleWithFixedDelay(this::purgeExpired, ttl, ThreadPool.Names.GENERIC);
+    }
+
+    @Override
+    public void close() {
+        Scheduler.Cancellable purge = scheduledPurge;
+        if (purge != null) {
+            purge.cancel();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Look up the cached answer of a question.
+     * @param modelId model the question is sent to
+     * @param owner user asking, null without security
+     * @param parameters prompt parameters sent to the model, with the question and the chat history
+     * @param listener notified with the cached answer, or null if there is none or the cache is disabled
+     */
+    public void get(String modelId, String owner, Map<String, String> parameters, ActionListener<String> listener) {
+        if (!enabled || parameters.get(QUESTION_FIELD) == null) {
+            listener.onResponse(null);
+            return;
+        }
+        String key = key(modelId, owner, parameters);
+        String cached = cache.get(key);
+        if (cached != null) {
+            hits.inc();
+            listener.onResponse(cached);
+            return;
+        }
+        if (!indexEnabled || !indicesHandler.isReady(ConversationIndex.ANSWER_CACHE)) {
+            misses.inc();
+            listener.onResponse(null);
+            return;
+        }
+
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            GetRequest getRequest = new GetRequest(ANSWER_CACHE_INDEX, documentId(key))
+                .fetchSourceContext(new FetchSourceContext(true, SOURCE_FIELDS, null));
+            client.get(getRequest, ActionListener.runBefore(ActionListener.wrap(r -> {
+                String answer = parse(r, key);
+                if (answer == null) {
+                    misses.inc();
+                } else {
+                    indexHits.inc();
+                    cache.put(key, answer);
+                }
+                listener.onResponse(answer);
+            }, e -> {
+                if (!(ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException)) {
+                    log.warn("Failed to get cached answer, asking the model", e);
+                }
+                misses.inc();
+                listener.onResponse(null);
+            }), context::restore));
+        } catch (Exception e) {
+            log.warn("Failed to get cached answer, asking the model", e);
+            misses.inc();
+            listener.onResponse(null);
+        }
+    }
+
+    /**
+     * Cache the answer of a model to a question.
+     */
+    public void put(String modelId, String owner, Map<String, String> parameters, String answer) {
+        if (!enabled || parameters.get(QUESTION_FIELD) == null || answer == null) {
+            return;
+        }
+        String key = key(modelId, owner, parameters);
+        cache.put(key, answer);
+        if (!indexEnabled) {
+            return;
+        }
+        indicesHandler.initConversationIndexIfAbsent(ConversationIndex.ANSWER_CACHE, ActionListener.wrap(r -> {
+            IndexRequest indexRequest = new IndexRequest(ANSWER_CACHE_INDEX)
+                .id(documentId(key))
+                .source(
+                    Map
+                        .of(
+                            CACHE_KEY_FIELD,
+                            key,
+                            MODEL_ID_FIELD,
+                            modelId,
+                            ANSWER_FIELD,
+                            answer,
+                            CREATED_TIME_FIELD,
+                            threadPool.absoluteTimeInMillis()
+                        )
+                );
+            ActionListener<DocWriteResponse> writeListener = ActionListener
+                .wrap(response -> {}, e -> log.warn("Failed to cache answer", e));
+            bulkIndexBuffer.add(indexRequest, WriteRequest.RefreshPolicy.NONE, writeListener);
+        }, e -> log.warn("Failed to init answer cache index", e)));
+    }
+
+    public long getHits() {
+        return hits.count();
+    }
+
+    public long getIndexHits() {
+        return indexHits.count();
+    }
+
+    public long getMisses() {
+        return misses.count();
+    }
+
+    public int count() {
+        return cache.count();
+    }
+
+    public long weight() {
+        return cache.weight();
+    }
+
+    private String key(String modelId, String owner, Map<String, String> parameters) {
+        String question = parameters.get(QUESTION_FIELD);
+        StringBuilder key = new StringBuilder(modelId.length() + question.length() + 64).append(modelId).append('\n');
+        if (owner != null) {
+            key.append(owner);
+        }
+        key.append('\n');
+        appendNormalized(key, question);
+        // Every other parameter shapes the prompt, in a fixed order so equal maps hash equally
+        Map<String, String> prompt = new TreeMap<>(parameters);
+        prompt.remove(QUESTION_FIELD);
+        if (!includeHistory) {
+            prompt.remove(CHAT_HISTORY_FIELD);
+        }
+        StringBuilder promptText = new StringBuilder();
+        prompt.forEach((name, value) -> promptText.append(name).append('\0').append(value).append('\0'));
+        byte[] bytes = promptText.toString().getBytes(StandardCharsets.UTF_8);
+        MurmurHash3.Hash128 hash = MurmurHash3.hash128(bytes, 0, bytes.length, 0, new MurmurHash3.Hash128());
+        key.append('\n').append(Long.toHexString(hash.h1)).append(Long.toHexString(hash.h2));
+        return key.toString();
+    }
+
+    /**
+     * Lower case the question, collapse whitespace and drop trailing punctuation, so that trivially different
+     * spellings of a question share an answer.
+     */
+    private static void appendNormalized(StringBuilder sb, String question) {
+        int end = question.length();
+        while (end > 0 && isTrailing(question.charAt(end - 1))) {
+            end--;
+        }
+        boolean space = false;
+        int start = sb.length();
+        for (int i = 0; i < end; i++) {
+            char c = question.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > start;
+            } else {
+                if (space) {
+                    sb.append(' ');
+                    space = false;
+                }
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+    }
+
+    private static boolean isTrailing(char c) {
+        return Character.isWhitespace(c) || c == '?' || c == '!' || c == '.';
+    }
+
+    private static String documentId(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        MurmurHash3.Hash128 hash = MurmurHash3.hash128(bytes, 0, bytes.length, 0, new MurmurHash3.Hash128());
+        byte[] id = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            id[i] = (byte) (hash.h1 >>> (8 * i));
+            id[8 + i] = (byte) (hash.h2 >>> (8 * i));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+    }
+
+    private String parse(GetResponse response, String key) {
+        if (!response.isExists()) {
+            return null;
+        }
+        Map<String, Object> source = response.getSourceAsMap();
+        Object createdTime = source.get(CREATED_TIME_FIELD);
+        // The id is a hash of the key, the stored key rules out collisions
+        if (!key.equals(source.get(CACHE_KEY_FIELD)) || !(createdTime instanceof Number)) {
+            return null;
+        }
+        if (((Number) createdTime).longValue() < threadPool.absoluteTimeInMillis() - ttl.millis()) {
+            return null;
+        }
+        return (String) source.get(ANSWER_FIELD);
+    }
+
+    private void purgeExpired() {
+        if (!indexEnabled || !clusterService.state().nodes().isLocalNodeElectedClusterManager()) {
+            return;
+        }
+        if (!clusterService.state().metadata().hasIndex(ANSWER_CACHE_INDEX)) {
+            return;
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            DeleteByQueryRequest deleteRequest = new DeleteByQueryRequest(ANSWER_CACHE_INDEX)
+                .setQuery(QueryBuilders.rangeQuery(CREATED_TIME_FIELD).lt(threadPool.absoluteTimeInMillis() - ttl.millis()));
+            deleteRequest.setConflicts("proceed");
+            client.execute(DeleteByQueryAction.INSTANCE, deleteRequest, ActionListener.wrap(r -> {
+                if (r.getDeleted() > 0) {
+                    log.debug("Purged {} expired cached answers", r.getDeleted());
+                }
+            }, e -> log.warn("Failed to purge expired cached answers", e)));
+        } catch (Exception e) {
+            log.warn("Failed to purge expired cached answers", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.ml;
+
+import static org.opensearch.conversation.settings.ConversationSettings.ANSWER_PATH;
+import static org.opensearch.conversation.settings.ConversationSettings.MODEL_ANSWER_PATH;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.Strings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.ml.common.output.MLOutput;
+import org.opensearch.ml.common.output.model.ModelTensor;
+import org.opensearch.ml.common.output.model.ModelTensorOutput;
+import org.opensearch.ml.common.output.model.ModelTensors;
+
+/**
+ * Takes the answer text out of the output of a remote model.
+ *
+ * The answer is looked up in the data map of each output tensor along a dotted path, where a number picks an element of
+ * a list, e.g. {@code choices.0.message.content}. The path is configured per model, falling back to a default one. If
+ * no path is configured, the output shapes of well-known chat and completion APIs are tried, then the result of the
+ * tensor, and as a last resort the whole output is returned as JSON.
+ */
+public class AnswerExtractor {
+    private static final List<String[]> WELL_KNOWN_PATHS = List
+        .of(
+            parsePath("choices.0.message.content"),
+            parsePath("choices.0.text"),
+            parsePath("completion"),
+            parsePath("generated_text"),
+            parsePath("response")
+        );
+
+    private volatile String[] defaultPath;
+    private final Map<String, String[]> modelPaths = new ConcurrentHashMap<>();
+
+    public AnswerExtractor(Settings settings, ClusterService clusterService) {
+        this.defaultPath = parsePath(ANSWER_PATH.get(settings));
+        MODEL_ANSWER_PATH.getAsMap(settings).forEach(this::setModelPath);
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ANSWER_PATH, it -> defaultPath = parsePath(it));
+        clusterService.getClusterSettings().addAffixUpdateConsumer(MODEL_ANSWER_PATH, this::setModelPath, (modelId, path) -> {});
+    }
+
+    /**
+     * Extract the answer of a model.
+     * @param modelId model that produced the output
+     * @param mlOutput output of the prediction
+     * @return the answer text
+     */
+    public String extract(String modelId, MLOutput mlOutput) throws IOException {
+        String[] path = modelId == null ? null : modelPaths.get(modelId);
+        return extract(mlOutput, path == null ? defaultPath : path);
+    }
+
+    /**
+     * Extract the answer along the given path, or along the well-known paths if it is null.
+     */
+    public static String extract(MLOutput mlOutput, String[] path) throws IOException {
+        if (mlOutput instanceof ModelTensorOutput) {
+            List<ModelTensors> outputs = ((ModelTensorOutput) mlOutput).getMlModelOutputs();
+            if (outputs != null) {
+                for (ModelTensors tensors : outputs) {
+                    if (tensors.getMlModelTensors() == null) {
+                        continue;
+                    }
+                    for (ModelTensor tensor : tensors.getMlModelTensors()) {
+                        String answer = extract(tensor, path);
+                        if (answer != null) {
+                            return answer;
+                        }
+                    }
+                }
+            }
+        }
+        return Strings.toString(XContentType.JSON, mlOutput);
+    }
+
+    /**
+     * Split a dotted path into its segments.
+     * @param path the path, a leading {@code $.} is allowed
+     * @return the segments, null for an empty path
+     */
+    public static String[] parsePath(String path) {
+        if (Strings.isNullOrEmpty(path)) {
+            return null;
+        }
+        String trimmed = path.startsWith("$.") ? path.substring(2) : path;
+        return trimmed.split("\\.");
+    }
+
+    private static String extract(ModelTensor tensor, String[] path) throws IOException {
+        Map<String, ?> dataAsMap = tensor.getDataAsMap();
+        if (dataAsMap != null) {
+            if (path != null) {
+                Object value = resolve(dataAsMap, path);
+                if (value != null) {
+                    return toText(value);
+                }
+            } else {
+                for (String[] wellKnownPath : WELL_KNOWN_PATHS) {
+                    Object value = resolve(dataAsMap, wellKnownPath);
+                    if (value instanceof String) {
+                        return (String) value;
+                    }
+                }
+            }
+        }
+        return tensor.getResult();
+    }
+
+    private static Object resolve(Object value, String[] path) {
+        for (String segment : path) {
+            if (value instanceof Map) {
+                value = ((Map<?, ?>) value).get(segment);
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                int index = parseIndex(segment);
+                value = index >= 0 && index < list.size() ? list.get(index) : null;
+            } else {
+                return null;
+            }
+        }
+        return value;
+    }
+
+    private static int parseIndex(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String toText(Object value) throws IOException {
+        if (value instanceof String) {
+            return (String) value;
+        }
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            builder.value(value);
+            return Strings.toString(builder);
+        }
+    }
+
+    private void setModelPath(String modelId, String path) {
+        String[] segments = parsePath(path);
+        if (segments == null) {
+            modelPaths.remove(modelId);
+        } else {
+            modelPaths.put(modelId, segments);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.ml;
+
+import java.util.Map;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.ml.common.FunctionName;
+import org.opensearch.ml.common.dataset.remote.RemoteInferenceInputDataSet;
+import org.opensearch.ml.common.input.remote.RemoteInferenceMLInput;
+
+/**
+ * Sends prompts to remote models through ml-commons and turns the prediction into answer text.
+ */
+public class RemoteModelClient {
+    private final MachineLearningNodeClient mlClient;
+    private final AnswerExtractor answerExtractor;
+
+    public RemoteModelClient(Client client, AnswerExtractor answerExtractor) {
+        this.mlClient = new MachineLearningNodeClient(client);
+        this.answerExtractor = answerExtractor;
+    }
+
+    /**
+     * Run a remote inference.
+     * @param modelId remote model id
+     * @param parameters prompt parameters of the model connector
+     * @param listener notified with the answer text
+     */
+    public void predict(String modelId, Map<String, String> parameters, ActionListener<String> listener) {
+        RemoteInferenceMLInput mlInput = new RemoteInferenceMLInput(FunctionName.REMOTE, new RemoteInferenceInputDataSet(parameters));
+        mlClient
+            .predict(
+                modelId,
+                mlInput,
+                ActionListener.wrap(mlOutput -> listener.onResponse(answerExtractor.extract(modelId, mlOutput)), listener::onFailure)
+            );
+    }
+}
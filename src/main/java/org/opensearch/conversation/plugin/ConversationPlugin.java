@@ -5,6 +5,11 @@
 
 package org.opensearch.conversation.plugin;
 
+import static org.opensearch.conversation.common.CommonValue.CHAT_HISTORY_ROUNDS;
+import static org.opensearch.conversation.common.CommonValue.CHAT_THREAD_POOL;
+import static org.opensearch.conversation.common.CommonValue.PERSIST_THREAD_POOL;
+
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
@@ -18,16 +23,40 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.IndexScopedSettings;
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.conversation.action.ChatRequestCoalescer;
+import org.opensearch.conversation.action.TransportBatchChatAction;
 import org.opensearch.conversation.action.TransportChatAction;
+import org.opensearch.conversation.action.TransportConversationStatsAction;
+import org.opensearch.conversation.action.TransportExportConversationAction;
 import org.opensearch.conversation.action.TransportGetSessionHistoryAction;
 import org.opensearch.conversation.action.TransportGetSessionListAction;
+import org.opensearch.conversation.memory.ConversationSummarizer;
+import org.opensearch.conversation.memory.RecentTurnsCache;
+import org.opensearch.conversation.memory.opensearch.AsyncPersistence;
+import org.opensearch.conversation.memory.opensearch.BulkIndexBuffer;
+import org.opensearch.conversation.memory.opensearch.MessageIndexLifecycle;
 import org.opensearch.conversation.memory.opensearch.OpensearchIndicesHandler;
+import org.opensearch.conversation.ml.AnswerCache;
+import org.opensearch.conversation.ml.AnswerExtractor;
+import org.opensearch.conversation.ml.RemoteModelClient;
+import org.opensearch.conversation.prompt.ChatHistoryAssembler;
+import org.opensearch.conversation.rest.RestBatchChatAction;
 import org.opensearch.conversation.rest.RestChatAction;
+import org.opensearch.conversation.rest.RestConversationStatsAction;
+import org.opensearch.conversation.rest.RestExportConversationAction;
 import org.opensearch.conversation.rest.RestGetSessionHistoryAction;
 import org.opensearch.conversation.rest.RestGetSessionListAction;
+import org.opensearch.conversation.settings.ConversationSettings;
+import org.opensearch.conversation.stats.ChatSlowLog;
+import org.opensearch.conversation.stats.ConversationStats;
+import org.opensearch.conversation.transport.BatchChatAction;
 import org.opensearch.conversation.transport.ChatAction;
+import org.opensearch.conversation.transport.ConversationStatsAction;
+import org.opensearch.conversation.transport.ExportConversationAction;
 import org.opensearch.conversation.transport.GetSessionHistoryAction;
 import org.opensearch.conversation.transport.GetSessionListAction;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
@@ -39,6 +68,8 @@ import org.opensearch.repositories.RepositoriesService;
 import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.watcher.ResourceWatcherService;
 
@@ -49,13 +80,21 @@ public class ConversationPlugin extends Plugin implements ActionPlugin {
     public static final String CONVERSATION_BASE_URI = "/_plugins/_conversation";
 
     private OpensearchIndicesHandler opensearchIndicesHandler;
+    private RecentTurnsCache recentTurnsCache;
+    private BulkIndexBuffer bulkIndexBuffer;
+    private ChatHistoryAssembler chatHistoryAssembler;
+    private MessageIndexLifecycle messageIndexLifecycle;
+    private AnswerCache answerCache;
 
     @Override
     public List<ActionHandler<? extends ActionRequest, ? extends ActionResponse>> getActions() {
         return List.of(
             new ActionHandler<>(ChatAction.INSTANCE, TransportChatAction.class),
+            new ActionHandler<>(BatchChatAction.INSTANCE, TransportBatchChatAction.class),
             new ActionHandler<>(GetSessionListAction.INSTANCE, TransportGetSessionListAction.class),
-            new ActionHandler<>(GetSessionHistoryAction.INSTANCE, TransportGetSessionHistoryAction.class)
+            new ActionHandler<>(GetSessionHistoryAction.INSTANCE, TransportGetSessionHistoryAction.class),
+            new ActionHandler<>(ExportConversationAction.INSTANCE, TransportExportConversationAction.class),
+            new ActionHandler<>(ConversationStatsAction.INSTANCE, TransportConversationStatsAction.class)
         );
     }
 
@@ -69,7 +108,14 @@ public class ConversationPlugin extends Plugin implements ActionPlugin {
         IndexNameExpressionResolver indexNameExpressionResolver,
         Supplier<DiscoveryNodes> nodesInCluster
     ) {
-        return List.of(new RestChatAction(), new RestGetSessionListAction(), new RestGetSessionHistoryAction());
+        return List.of(
+            new RestChatAction(),
+            new RestBatchChatAction(),
+            new RestGetSessionListAction(),
+            new RestGetSessionHistoryAction(),
+            new RestExportConversationAction(),
+            new RestConversationStatsAction()
+        );
     }
 
     @Override
@@ -87,6 +133,118 @@ public class ConversationPlugin extends Plugin implements ActionPlugin {
         final Supplier<RepositoriesService> repositoriesServiceSupplier
     ) {
         opensearchIndicesHandler = new OpensearchIndicesHandler(clusterService, client);
-        return List.of(opensearchIndicesHandler);
+        clusterService.addListener(opensearchIndicesHandler);
+        messageIndexLifecycle = new MessageIndexLifecycle(environment.settings(), clusterService, client, threadPool);
+        messageIndexLifecycle.start();
+        recentTurnsCache = new RecentTurnsCache(environment.settings(), CHAT_HISTORY_ROUNDS);
+        bulkIndexBuffer = new BulkIndexBuffer(client, threadPool, environment.settings());
+        AsyncPersistence asyncPersistence = new AsyncPersistence(environment.settings(), clusterService, threadPool);
+        chatHistoryAssembler = new ChatHistoryAssembler(environment.settings(), clusterService);
+        AnswerExtractor answerExtractor = new AnswerExtractor(environment.settings(), clusterService);
+        RemoteModelClient remoteModelClient = new RemoteModelClient(client, answerExtractor);
+        answerCache = new AnswerCache(
+            environment.settings(),
+            clusterService,
+            client,
+            threadPool,
+            opensearchIndicesHandler,
+            bulkIndexBuffer
+        );
+        answerCache.start();
+        ConversationSummarizer summarizer = new ConversationSummarizer(
+            environment.settings(),
+            clusterService,
+            client,
+            remoteModelClient,
+            bulkIndexBuffer
+        );
+        return List.of(
+            opensearchIndicesHandler,
+            messageIndexLifecycle,
+            recentTurnsCache,
+            bulkIndexBuffer,
+            asyncPersistence,
+            chatHistoryAssembler,
+            remoteModelClient,
+            answerCache,
+            new ChatRequestCoalescer(environment.settings(), clusterService, threadPool),
+            new ConversationStats(),
+            new ChatSlowLog(environment.settings(), clusterService),
+            summarizer
+        );
+    }
+
+    @Override
+    public List<Setting<?>> getSettings() {
+        return List.of(
+            ConversationSettings.HISTORY_CACHE_ENABLED,
+            ConversationSettings.HISTORY_CACHE_SIZE,
+            ConversationSettings.HISTORY_CACHE_EXPIRE_AFTER_LOAD,
+            ConversationSettings.MESSAGE_DURABILITY,
+            ConversationSettings.MESSAGE_BULK_ACTIONS,
+            ConversationSettings.MESSAGE_BULK_SIZE,
+            ConversationSettings.MESSAGE_FLUSH_INTERVAL,
+            ConversationSettings.MESSAGE_ASYNC_PERSISTENCE,
+            ConversationSettings.MESSAGE_PERSIST_MAX_RETRIES,
+            ConversationSettings.MESSAGE_PERSIST_RETRY_BACKOFF,
+            ConversationSettings.MESSAGE_ROLLOVER_MAX_AGE,
+            ConversationSettings.MESSAGE_ROLLOVER_MAX_SIZE,
+            ConversationSettings.MESSAGE_ROLLOVER_CHECK_INTERVAL,
+            ConversationSettings.MESSAGE_RETENTION,
+            ConversationSettings.CHAT_HISTORY_TOKEN_BUDGET,
+            ConversationSettings.CHAT_HISTORY_TOKEN_ESTIMATOR,
+            ConversationSettings.MODEL_CHAT_HISTORY_TOKEN_BUDGET,
+            ConversationSettings.ANSWER_PATH,
+            ConversationSettings.MODEL_ANSWER_PATH,
+            ConversationSettings.ANSWER_CACHE_ENABLED,
+            ConversationSettings.ANSWER_CACHE_SIZE,
+            ConversationSettings.ANSWER_CACHE_TTL,
+            ConversationSettings.ANSWER_CACHE_INCLUDE_HISTORY,
+            ConversationSettings.ANSWER_CACHE_INDEX_ENABLED,
+            ConversationSettings.BATCH_MAX_CONCURRENT_PREDICTS,
+            ConversationSettings.BATCH_TIMEOUT,
+            ConversationSettings.SESSION_MAX_QUEUED_TURNS,
+            ConversationSettings.SLOWLOG_THRESHOLD,
+            ConversationSettings.SLOWLOG_SAMPLE_RATE,
+            ConversationSettings.SUMMARY_ENABLED,
+            ConversationSettings.SUMMARY_INTERVAL,
+            ConversationSettings.SUMMARY_RECENT_TURNS,
+            ConversationSettings.SUMMARY_MODEL_ID,
+            ConversationSettings.SUMMARY_PROMPT
+        );
+    }
+
+    @Override
+    public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
+        int allocatedProcessors = OpenSearchExecutors.allocatedProcessors(settings);
+        // Chat threads never block on the model or the index, they only assemble prompts and parse responses.
+        FixedExecutorBuilder chatThreadPool = new FixedExecutorBuilder(
+            settings,
+            CHAT_THREAD_POOL,
+            allocatedProcessors,
+            200,
+            "plugins.conversation.thread_pool.chat"
+        );
+        FixedExecutorBuilder persistThreadPool = new FixedExecutorBuilder(
+            settings,
+            PERSIST_THREAD_POOL,
+            Math.max(1, allocatedProcessors / 2),
+            1000,
+            "plugins.conversation.thread_pool.persist"
+        );
+        return List.of(chatThreadPool, persistThreadPool);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (messageIndexLifecycle != null) {
+            messageIndexLifecycle.close();
+        }
+        if (answerCache != null) {
+            answerCache.close();
+        }
+        if (bulkIndexBuffer != null) {
+            bulkIndexBuffer.close();
+        }
     }
 }
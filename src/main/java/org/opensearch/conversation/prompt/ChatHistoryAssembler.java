@@ -0,0 +1,121 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.prompt;
+
+import static org.opensearch.conversation.settings.ConversationSettings.CHAT_HISTORY_TOKEN_BUDGET;
+import static org.opensearch.conversation.settings.ConversationSettings.CHAT_HISTORY_TOKEN_ESTIMATOR;
+import static org.opensearch.conversation.settings.ConversationSettings.MODEL_CHAT_HISTORY_TOKEN_BUDGET;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.conversation.memory.ConversationTurn;
+
+/**
+ * Builds the chat_history parameter of a prompt from the most recent turns of a session. Turns are taken newest
+ * first for as long as they fit in the token budget of the model, then written oldest first, one question or answer
+ * per line.
+ */
+public class ChatHistoryAssembler {
+    private volatile int defaultTokenBudget;
+    private volatile TokenEstimator tokenEstimator;
+    private final Map<String, Integer> modelTokenBudgets = new ConcurrentHashMap<>();
+
+    public ChatHistoryAssembler(Settings settings, ClusterService clusterService) {
+        this.defaultTokenBudget = CHAT_HISTORY_TOKEN_BUDGET.get(settings);
+        this.tokenEstimator = TokenEstimator.from(CHAT_HISTORY_TOKEN_ESTIMATOR.get(settings));
+        MODEL_CHAT_HISTORY_TOKEN_BUDGET.getAsMap(settings).forEach(this::setModelTokenBudget);
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(CHAT_HISTORY_TOKEN_BUDGET, it -> defaultTokenBudget = it);
+        clusterService
+            .getClusterSettings()
+            .addSettingsUpdateConsumer(CHAT_HISTORY_TOKEN_ESTIMATOR, it -> tokenEstimator = TokenEstimator.from(it));
+        clusterService
+            .getClusterSettings()
+            .addAffixUpdateConsumer(MODEL_CHAT_HISTORY_TOKEN_BUDGET, this::setModelTokenBudget, (modelId, budget) -> {});
+    }
+
+    public int getTokenBudget(String modelId) {
+        return modelTokenBudgets.getOrDefault(modelId, defaultTokenBudget);
+    }
+
+    /**
+     * Assemble the chat history of a prompt.
+     * @param modelId model the prompt is sent to
+     * @param turns turns of the session, oldest first
+     * @return the history text, empty if no turn fits in the budget
+     */
+    public String assemble(String modelId, List<ConversationTurn> turns) {
+        return assemble(modelId, null, turns);
+    }
+
+    /**
+     * Assemble the chat history of a prompt, starting with the rolling summary of the older turns if it fits.
+     * @param modelId model the prompt is sent to
+     * @param summary summary of the turns before the given ones, may be null
+     * @param turns turns of the session after the summary, oldest first
+     * @return the history text, empty if nothing fits in the budget
+     */
+    public String assemble(String modelId, String summary, List<ConversationTurn> turns) {
+        TokenEstimator estimator = tokenEstimator;
+        int remaining = getTokenBudget(modelId);
+        int length = 0;
+        if (summary != null) {
+            int tokens = estimator.count(summary);
+            if (tokens <= remaining) {
+                remaining -= tokens;
+                length += summary.length() + 1;
+            } else {
+                summary = null;
+            }
+        }
+
+        int from = turns.size();
+        while (from > 0) {
+            ConversationTurn turn = turns.get(from - 1);
+            int tokens = estimator.count(turn.getQuestion()) + estimator.count(turn.getAnswer());
+            if (tokens > remaining) {
+                break;
+            }
+            remaining -= tokens;
+            length += lengthOf(turn.getQuestion()) + lengthOf(turn.getAnswer()) + 2;
+            from--;
+        }
+
+        StringBuilder history = new StringBuilder(length);
+        if (summary != null) {
+            history.append(summary);
+        }
+        for (int i = from; i < turns.size(); i++) {
+            ConversationTurn turn = turns.get(i);
+            if (history.length() > 0) {
+                history.append('\n');
+            }
+            appendNullable(history, turn.getQuestion()).append('\n');
+            appendNullable(history, turn.getAnswer());
+        }
+        return history.toString();
+    }
+
+    private void setModelTokenBudget(String modelId, Integer budget) {
+        if (budget == null || budget < 0) {
+            modelTokenBudgets.remove(modelId);
+        } else {
+            modelTokenBudgets.put(modelId, budget);
+        }
+    }
+
+    private static int lengthOf(String text) {
+        return text == null ? 0 : text.length();
+    }
+
+    private static StringBuilder appendNullable(StringBuilder sb, String text) {
+        return text == null ? sb : sb.append(text);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.prompt;
+
+import java.util.Locale;
+
+/**
+ * Estimates how many model tokens a piece of text takes. Estimates are used to bound prompt size, so they need a
+ * single pass over the text and no vocabulary rather than being exact.
+ */
+public enum TokenEstimator {
+    // About four characters per token, which is what BPE tokenizers average on English text.
+    CHAR {
+        @Override
+        public int count(CharSequence text) {
+            return text == null ? 0 : (text.length() + 3) / 4;
+        }
+    },
+    // One token per whitespace separated word.
+    WHITESPACE {
+        @Override
+        public int count(CharSequence text) {
+            if (text == null) {
+                return 0;
+            }
+            int tokens = 0;
+            boolean inWord = false;
+            for (int i = 0; i < text.length(); i++) {
+                if (Character.isWhitespace(text.charAt(i))) {
+                    inWord = false;
+                } else if (!inWord) {
+                    inWord = true;
+                    tokens++;
+                }
+            }
+            return tokens;
+        }
+    };
+
+    public abstract int count(CharSequence text);
+
+    public static TokenEstimator from(String value) {
+        try {
+            return TokenEstimator.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Wrong token estimator: " + value);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.request;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversation.common.ActionRequestConverter;
+import org.opensearch.conversation.input.ChatInput;
+
+/**
+ * Chat turns answered in one request, each in its own session or in a new one.
+ */
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@ToString
+public class BatchChatRequest extends ActionRequest {
+    public static final int MAX_ITEMS = 1000;
+
+    private List<ChatInput> items;
+
+    @Builder
+    public BatchChatRequest(List<ChatInput> items) {
+        this.items = items;
+    }
+
+    public BatchChatRequest(StreamInput in) throws IOException {
+        super(in);
+        this.items = in.readList(ChatInput::new);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException exception = null;
+        if (items == null || items.isEmpty()) {
+            return addValidationError("Batch chat request has no items", exception);
+        }
+        if (items.size() > MAX_ITEMS) {
+            exception = addValidationError(
+                String.format(Locale.ROOT, "Batch chat request has %d items, at most %d are allowed", items.size(), MAX_ITEMS),
+                exception
+            );
+        }
+        for (int i = 0; i < items.size(); i++) {
+            ChatInput item = items.get(i);
+            if (item == null || item.getModelId() == null) {
+                exception = addValidationError("The model id of item " + i + " is required", exception);
+            }
+        }
+
+        return exception;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeList(items);
+    }
+
+    public static BatchChatRequest fromActionRequest(ActionRequest actionRequest) {
+        return ActionRequestConverter.convert(actionRequest, BatchChatRequest.class, BatchChatRequest::new);
+    }
+}
@@ -7,10 +7,7 @@ package org.opensearch.conversation.request;
 
 import static org.opensearch.action.ValidateActions.addValidationError;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -20,10 +17,9 @@ import lombok.experimental.FieldDefaults;
 
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
-import org.opensearch.common.io.stream.InputStreamStreamInput;
-import org.opensearch.common.io.stream.OutputStreamStreamOutput;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversation.common.ActionRequestConverter;
 import org.opensearch.conversation.input.ChatInput;
 
 @Getter
@@ -59,17 +55,6 @@ public class ChatRequest extends ActionRequest {
     }
 
     public static ChatRequest fromActionRequest(ActionRequest actionRequest) {
-        if (actionRequest instanceof ChatRequest) {
-            return (ChatRequest) actionRequest;
-        }
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream(); OutputStreamStreamOutput osso = new OutputStreamStreamOutput(baos)) {
-            actionRequest.writeTo(osso);
-            try (StreamInput input = new InputStreamStreamInput(new ByteArrayInputStream(baos.toByteArray()))) {
-                return new ChatRequest(input);
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to parse ActionRequest into ChatRequest", e);
-        }
+        return ActionRequestConverter.convert(actionRequest, ChatRequest.class, ChatRequest::new);
     }
 }
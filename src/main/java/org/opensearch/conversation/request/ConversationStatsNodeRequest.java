@@ -0,0 +1,22 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.request;
+
+import java.io.IOException;
+
+import org.opensearch.action.support.nodes.BaseNodeRequest;
+import org.opensearch.common.io.stream.StreamInput;
+
+public class ConversationStatsNodeRequest extends BaseNodeRequest {
+
+    public ConversationStatsNodeRequest() {
+        super();
+    }
+
+    public ConversationStatsNodeRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.request;
+
+import java.io.IOException;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.io.stream.StreamInput;
+
+/**
+ * Conversation stats of the given nodes, of all nodes if none is given.
+ */
+public class ConversationStatsRequest extends BaseNodesRequest<ConversationStatsRequest> {
+
+    public ConversationStatsRequest(String... nodeIds) {
+        super(nodeIds);
+    }
+
+    public ConversationStatsRequest(StreamInput in) throws IOException {
+        super(in);
+    }
+}
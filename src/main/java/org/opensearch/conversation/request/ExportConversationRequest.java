@@ -0,0 +1,83 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.request;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+import java.io.IOException;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversation.common.ActionRequestConverter;
+
+@Getter
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@ToString
+public class ExportConversationRequest extends ActionRequest {
+    public static final int MAX_SIZE = 10_000;
+
+    // Session to export, all sessions if null
+    private String sessionId;
+    private int size;
+    // Cursor returned with the previous page, null to start an export
+    private String cursor;
+    // Slice of the export to start, ignored when a cursor is given
+    private int sliceId;
+    // Number of slices the export is split into, 0 for no slicing
+    private int maxSlices;
+
+    @Builder
+    public ExportConversationRequest(String sessionId, int size, String cursor, int sliceId, int maxSlices) {
+        this.sessionId = sessionId;
+        this.size = size;
+        this.cursor = cursor;
+        this.sliceId = sliceId;
+        this.maxSlices = maxSlices;
+    }
+
+    public ExportConversationRequest(StreamInput in) throws IOException {
+        super(in);
+        this.sessionId = in.readOptionalString();
+        this.size = in.readInt();
+        this.cursor = in.readOptionalString();
+        this.sliceId = in.readInt();
+        this.maxSlices = in.readInt();
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException exception = null;
+        if (size <= 0 || size > MAX_SIZE) {
+            exception = addValidationError("size must be between 1 and " + MAX_SIZE, exception);
+        }
+        if (maxSlices < 0 || maxSlices == 1 || (maxSlices > 0 && (sliceId < 0 || sliceId >= maxSlices))) {
+            exception = addValidationError("slice id must be between 0 and max slices, and max slices greater than 1", exception);
+        }
+        return exception;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeOptionalString(sessionId);
+        out.writeInt(size);
+        out.writeOptionalString(cursor);
+        out.writeInt(sliceId);
+        out.writeInt(maxSlices);
+    }
+
+    public static ExportConversationRequest fromActionRequest(ActionRequest actionRequest) {
+        return ActionRequestConverter.convert(actionRequest, ExportConversationRequest.class, ExportConversationRequest::new);
+    }
+}
@@ -7,10 +7,7 @@ package org.opensearch.conversation.request;
 
 import static org.opensearch.action.ValidateActions.addValidationError;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -20,10 +17,9 @@ import lombok.experimental.FieldDefaults;
 
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
-import org.opensearch.common.io.stream.InputStreamStreamInput;
-import org.opensearch.common.io.stream.OutputStreamStreamOutput;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversation.common.ActionRequestConverter;
 
 @Getter
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
@@ -32,12 +28,19 @@ public class GetSessionHistoryRequest extends ActionRequest {
     private String sessionId;
     private int from;
     private int size;
+    // Cursor returned with the previous page, null for the first page
+    private String cursor;
 
-    @Builder
     public GetSessionHistoryRequest(String sessionId, int from, int size) {
+        this(sessionId, from, size, null);
+    }
+
+    @Builder
+    public GetSessionHistoryRequest(String sessionId, int from, int size, String cursor) {
         this.sessionId = sessionId;
         this.from = from;
         this.size = size;
+        this.cursor = cursor;
     }
 
     public GetSessionHistoryRequest(StreamInput in) throws IOException {
@@ -45,6 +48,7 @@ public class GetSessionHistoryRequest extends ActionRequest {
         this.sessionId = in.readString();
         this.from = in.readInt();
         this.size = in.readInt();
+        this.cursor = in.readOptionalString();
     }
 
     @Override
@@ -54,6 +58,8 @@ public class GetSessionHistoryRequest extends ActionRequest {
             exception = addValidationError("session id can not be empty", exception);
         } else if (from < 0 || size <= 0) {
             exception = addValidationError("from can not be less than 0, size can not be less than or equal to 0", exception);
+        } else if (cursor != null && from > 0) {
+            exception = addValidationError("from can not be used together with a cursor", exception);
         }
 
         return exception;
@@ -65,20 +71,10 @@ public class GetSessionHistoryRequest extends ActionRequest {
         out.writeString(sessionId);
         out.writeInt(from);
         out.writeInt(size);
+        out.writeOptionalString(cursor);
     }
 
     public static GetSessionHistoryRequest fromActionRequest(ActionRequest actionRequest) {
-        if (actionRequest instanceof GetSessionHistoryRequest) {
-            return (GetSessionHistoryRequest) actionRequest;
-        }
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream(); OutputStreamStreamOutput osso = new OutputStreamStreamOutput(baos)) {
-            actionRequest.writeTo(osso);
-            try (StreamInput input = new InputStreamStreamInput(new ByteArrayInputStream(baos.toByteArray()))) {
-                return new GetSessionHistoryRequest(input);
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to parse ActionRequest into GetSessionHistoryRequest", e);
-        }
+        return ActionRequestConverter.convert(actionRequest, GetSessionHistoryRequest.class, GetSessionHistoryRequest::new);
     }
 }
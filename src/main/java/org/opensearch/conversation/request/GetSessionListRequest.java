@@ -7,10 +7,7 @@ package org.opensearch.conversation.request;
 
 import static org.opensearch.action.ValidateActions.addValidationError;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -20,10 +17,9 @@ import lombok.experimental.FieldDefaults;
 
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
-import org.opensearch.common.io.stream.InputStreamStreamInput;
-import org.opensearch.common.io.stream.OutputStreamStreamOutput;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversation.common.ActionRequestConverter;
 
 @Getter
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
@@ -62,17 +58,6 @@ public class GetSessionListRequest extends ActionRequest {
     }
 
     public static GetSessionListRequest fromActionRequest(ActionRequest actionRequest) {
-        if (actionRequest instanceof GetSessionListRequest) {
-            return (GetSessionListRequest) actionRequest;
-        }
-
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream(); OutputStreamStreamOutput osso = new OutputStreamStreamOutput(baos)) {
-            actionRequest.writeTo(osso);
-            try (StreamInput input = new InputStreamStreamInput(new ByteArrayInputStream(baos.toByteArray()))) {
-                return new GetSessionListRequest(input);
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to parse ActionRequest into GetSessionListRequest", e);
-        }
+        return ActionRequestConverter.convert(actionRequest, GetSessionListRequest.class, GetSessionListRequest::new);
     }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.response;
+
+import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
+import static org.opensearch.conversation.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.conversation.common.CommonValue.ITEMS_FIELD;
+import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
+import static org.opensearch.conversation.common.CommonValue.STATUS_FIELD;
+
+import java.io.IOException;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.ToString;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.rest.RestStatus;
+
+/**
+ * Results of a batch chat request, one per item and in the order of the items.
+ */
+@Getter
+@ToString
+public class BatchChatResponse extends ActionResponse implements ToXContentObject {
+
+    private List<Item> items;
+
+    @Builder
+    public BatchChatResponse(List<Item> items) {
+        this.items = items;
+    }
+
+    public BatchChatResponse(StreamInput in) throws IOException {
+        this.items = in.readList(Item::new);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(items);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field(ITEMS_FIELD, items);
+        builder.endObject();
+        return builder;
+    }
+
+    /**
+     * Either the answer of an item and the session it was stored in, or the reason it failed.
+     */
+    @Data
+    public static class Item implements ToXContentObject, Writeable {
+
+        private String sessionId;
+        private String answer;
+        private String error;
+        private RestStatus status;
+
+        @Builder(toBuilder = true)
+        public Item(String sessionId, String answer, String error, RestStatus status) {
+            this.sessionId = sessionId;
+            this.answer = answer;
+            this.error = error;
+            this.status = status;
+        }
+
+        public Item(StreamInput input) throws IOException {
+            this.sessionId = input.readOptionalString();
+            this.answer = input.readOptionalString();
+            this.error = input.readOptionalString();
+            this.status = RestStatus.readFrom(input);
+        }
+
+        public static Item success(String sessionId, String answer) {
+            return new Item(sessionId, answer, null, RestStatus.OK);
+        }
+
+        public static Item failure(String sessionId, Exception e) {
+            return new Item(sessionId, null, ExceptionsHelper.unwrapCause(e).getMessage(), ExceptionsHelper.status(e));
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeOptionalString(sessionId);
+            out.writeOptionalString(answer);
+            out.writeOptionalString(error);
+            RestStatus.writeTo(out, status);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            if (sessionId != null) {
+                builder.field(SESSION_ID_FIELD, sessionId);
+            }
+            if (answer != null) {
+                builder.field(ANSWER_FIELD, answer);
+            }
+            if (error != null) {
+                builder.field(ERROR_FIELD, error);
+            }
+            builder.field(STATUS_FIELD, status.getStatus());
+            builder.endObject();
+            return builder;
+        }
+    }
+}
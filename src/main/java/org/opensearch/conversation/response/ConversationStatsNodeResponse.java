@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.response;
+
+import static org.opensearch.conversation.common.CommonValue.COUNTERS_FIELD;
+import static org.opensearch.conversation.common.CommonValue.LATENCY_FIELD;
+
+import java.io.IOException;
+import java.util.Map;
+
+import lombok.Getter;
+
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.conversation.stats.LatencyHistogram;
+import org.opensearch.core.xcontent.ToXContentFragment;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Conversation stats of one node: latencies by operation and counters by name.
+ */
+@Getter
+public class ConversationStatsNodeResponse extends BaseNodeResponse implements ToXContentFragment {
+    private final Map<String, LatencyHistogram.Snapshot> latencies;
+    private final Map<String, Long> counters;
+
+    public ConversationStatsNodeResponse(DiscoveryNode node, Map<String, LatencyHistogram.Snapshot> latencies, Map<String, Long> counters) {
+        super(node);
+        this.latencies = latencies;
+        this.counters = counters;
+    }
+
+    public ConversationStatsNodeResponse(StreamInput in) throws IOException {
+        super(in);
+        this.latencies = in.readMap(StreamInput::readString, LatencyHistogram.Snapshot::new);
+        this.counters = in.readMap(StreamInput::readString, StreamInput::readVLong);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeMap(latencies, StreamOutput::writeString, (o, snapshot) -> snapshot.writeTo(o));
+        out.writeMap(counters, StreamOutput::writeString, StreamOutput::writeVLong);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.field(LATENCY_FIELD, latencies);
+        builder.field(COUNTERS_FIELD, counters);
+        return builder;
+    }
+}
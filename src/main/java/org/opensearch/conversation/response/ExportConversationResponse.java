@@ -0,0 +1,47 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.response;
+
+import java.io.IOException;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+/**
+ * One page of an export, the turns already written as newline-delimited JSON.
+ */
+@Getter
+public class ExportConversationResponse extends ActionResponse {
+    private BytesReference ndjson;
+    private int count;
+    // Cursor of the next page, null if the export is complete
+    private String nextCursor;
+
+    @Builder
+    public ExportConversationResponse(BytesReference ndjson, int count, String nextCursor) {
+        this.ndjson = ndjson;
+        this.count = count;
+        this.nextCursor = nextCursor;
+    }
+
+    public ExportConversationResponse(StreamInput in) throws IOException {
+        this.ndjson = in.readBytesReference();
+        this.count = in.readVInt();
+        this.nextCursor = in.readOptionalString();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeBytesReference(ndjson);
+        out.writeVInt(count);
+        out.writeOptionalString(nextCursor);
+    }
+}
@@ -7,6 +7,7 @@ package org.opensearch.conversation.response;
 
 import static org.opensearch.conversation.common.CommonValue.ANSWER_FIELD;
 import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.NEXT_CURSOR_FIELD;
 import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
 import static org.opensearch.conversation.common.CommonValue.STEPS_FIELD;
@@ -33,22 +34,27 @@ public class GetSessionHistoryResponse extends ActionResponse implements ToXCont
 
     private String sessionId;
     private List<Element> steps;
+    // Cursor of the next page, null if this page is the last one
+    private String nextCursor;
 
     @Builder
-    public GetSessionHistoryResponse(String sessionId, List<Element> steps) {
+    public GetSessionHistoryResponse(String sessionId, List<Element> steps, String nextCursor) {
         this.sessionId = sessionId;
         this.steps = steps;
+        this.nextCursor = nextCursor;
     }
 
     public GetSessionHistoryResponse(StreamInput in) throws IOException {
         this.sessionId = in.readString();
         this.steps = in.readList(Element::new);
+        this.nextCursor = in.readOptionalString();
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeString(sessionId);
         out.writeList(steps);
+        out.writeOptionalString(nextCursor);
     }
 
     @Override
@@ -56,6 +62,9 @@ public class GetSessionHistoryResponse extends ActionResponse implements ToXCont
         builder.startObject();
         builder.field(SESSION_ID_FIELD, sessionId);
         builder.field(STEPS_FIELD, steps);
+        if (nextCursor != null) {
+            builder.field(NEXT_CURSOR_FIELD, nextCursor);
+        }
         builder.endObject();
         return builder;
     }
@@ -6,6 +6,7 @@
 package org.opensearch.conversation.response;
 
 import static org.opensearch.conversation.common.CommonValue.CREATED_TIME_FIELD;
+import static org.opensearch.conversation.common.CommonValue.LAST_UPDATED_TIME_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSIONS_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_ID_FIELD;
 import static org.opensearch.conversation.common.CommonValue.SESSION_TITLE_FIELD;
@@ -60,18 +61,21 @@ public class GetSessionListResponse extends ActionResponse implements ToXContent
         private String sessionId;
         private String title;
         private Instant createdTime;
+        private Instant lastUpdatedTime;
 
         @Builder(toBuilder = true)
-        public Element(String sessionId, String title, Instant createdTime) {
+        public Element(String sessionId, String title, Instant createdTime, Instant lastUpdatedTime) {
             this.sessionId = sessionId;
             this.title = title;
             this.createdTime = createdTime;
+            this.lastUpdatedTime = lastUpdatedTime;
         }
 
         public Element(StreamInput input) throws IOException {
             this.sessionId = input.readString();
             this.title = input.readString();
             this.createdTime = input.readInstant();
+            this.lastUpdatedTime = input.readInstant();
         }
 
         @Override
@@ -79,6 +83,7 @@ public class GetSessionListResponse extends ActionResponse implements ToXContent
             out.writeString(sessionId);
             out.writeString(title);
             out.writeInstant(createdTime);
+            out.writeInstant(lastUpdatedTime);
         }
 
         @Override
@@ -87,6 +92,7 @@ public class GetSessionListResponse extends ActionResponse implements ToXContent
             builder.field(SESSION_ID_FIELD, sessionId);
             builder.field(SESSION_TITLE_FIELD, title);
             builder.field(CREATED_TIME_FIELD, createdTime.toEpochMilli());
+            builder.field(LAST_UPDATED_TIME_FIELD, lastUpdatedTime.toEpochMilli());
             builder.endObject();
             return builder;
         }
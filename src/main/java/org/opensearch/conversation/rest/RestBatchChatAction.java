@@ -0,0 +1,66 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.rest;
+
+import static org.opensearch.common.xcontent.XContentParserUtils.ensureExpectedToken;
+import static org.opensearch.conversation.common.CommonValue.ITEMS_FIELD;
+import static org.opensearch.conversation.plugin.ConversationPlugin.CONVERSATION_BASE_URI;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.conversation.input.ChatInput;
+import org.opensearch.conversation.request.BatchChatRequest;
+import org.opensearch.conversation.transport.BatchChatAction;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+
+public class RestBatchChatAction extends BaseRestHandler {
+    private static final String BATCH_CHAT_ACTION = "batch_chat_action";
+
+    @Override
+    public String getName() {
+        return BATCH_CHAT_ACTION;
+    }
+
+    private BatchChatRequest getRequest(RestRequest request) throws IOException {
+        if (!request.hasContent()) {
+            throw new IOException("Batch chat request has empty body");
+        }
+        List<ChatInput> items = new ArrayList<>();
+        XContentParser parser = request.contentParser();
+        ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if (ITEMS_FIELD.equals(fieldName)) {
+                ensureExpectedToken(XContentParser.Token.START_ARRAY, parser.currentToken(), parser);
+                while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                    items.add(ChatInput.parse(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new BatchChatRequest(items);
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        BatchChatRequest batchChatRequest = getRequest(request);
+        return channel -> client.execute(BatchChatAction.INSTANCE, batchChatRequest, new RestToXContentListener<>(channel));
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(RestRequest.Method.POST, String.format(Locale.ROOT, "%s/_chat/_batch", CONVERSATION_BASE_URI)));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.rest;
+
+import static org.opensearch.conversation.plugin.ConversationPlugin.CONVERSATION_BASE_URI;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.Strings;
+import org.opensearch.conversation.request.ConversationStatsRequest;
+import org.opensearch.conversation.transport.ConversationStatsAction;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestActions;
+
+public class RestConversationStatsAction extends BaseRestHandler {
+    private static final String CONVERSATION_STATS_ACTION = "conversation_stats_action";
+    private static final String NODE_ID_PARAM = "nodeId";
+
+    @Override
+    public String getName() {
+        return CONVERSATION_STATS_ACTION;
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String[] nodeIds = Strings.splitStringByCommaToArray(request.param(NODE_ID_PARAM));
+        ConversationStatsRequest statsRequest = new ConversationStatsRequest(nodeIds);
+        statsRequest.timeout(request.param("timeout"));
+        return channel -> client
+            .execute(ConversationStatsAction.INSTANCE, statsRequest, new RestActions.NodesResponseRestListener<>(channel));
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List
+            .of(
+                new Route(RestRequest.Method.GET, String.format(Locale.ROOT, "%s/stats", CONVERSATION_BASE_URI)),
+                new Route(RestRequest.Method.GET, String.format(Locale.ROOT, "%s/{%s}/stats", CONVERSATION_BASE_URI, NODE_ID_PARAM))
+            );
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.rest;
+
+import static org.opensearch.conversation.plugin.ConversationPlugin.CONVERSATION_BASE_URI;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.conversation.request.ExportConversationRequest;
+import org.opensearch.conversation.response.ExportConversationResponse;
+import org.opensearch.conversation.transport.ExportConversationAction;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestResponse;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.rest.action.RestResponseListener;
+
+/**
+ * Returns a page of an export as newline-delimited JSON, one turn per line. The cursor of the next page is sent in the
+ * {@value #NEXT_CURSOR_HEADER} header and is absent on the last page.
+ */
+public class RestExportConversationAction extends BaseRestHandler {
+    private static final String EXPORT_CONVERSATION_ACTION = "export_conversation_action";
+    private static final String NEXT_CURSOR_HEADER = "X-Conversation-Next-Cursor";
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    @Override
+    public String getName() {
+        return EXPORT_CONVERSATION_ACTION;
+    }
+
+    private ExportConversationRequest getRequest(RestRequest request) {
+        return ExportConversationRequest
+            .builder()
+            .sessionId(request.param("sessionId"))
+            .size(request.paramAsInt("size", 1000))
+            .cursor(request.param("cursor"))
+            .sliceId(request.paramAsInt("slice", 0))
+            .maxSlices(request.paramAsInt("maxSlices", 0))
+            .build();
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        ExportConversationRequest exportRequest = getRequest(request);
+        return channel -> client.execute(ExportConversationAction.INSTANCE, exportRequest, new RestResponseListener<>(channel) {
+            @Override
+            public RestResponse buildResponse(ExportConversationResponse response) {
+                BytesRestResponse restResponse = new BytesRestResponse(RestStatus.OK, NDJSON_CONTENT_TYPE, response.getNdjson());
+                if (response.getNextCursor() != null) {
+                    restResponse.addHeader(NEXT_CURSOR_HEADER, response.getNextCursor());
+                }
+                return restResponse;
+            }
+        });
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(RestRequest.Method.GET, String.format(Locale.ROOT, "%s/_export", CONVERSATION_BASE_URI)));
+    }
+}
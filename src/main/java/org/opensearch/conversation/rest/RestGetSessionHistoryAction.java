@@ -33,6 +33,11 @@ public class RestGetSessionHistoryAction extends BaseRestHandler {
             throw new IllegalArgumentException("The sessionId is required in history request.");
         }
         int pageSize = request.paramAsInt("pageSize", 10);
+        String cursor = request.param("cursor");
+        if (cursor != null) {
+            return new GetSessionHistoryRequest(sessionId, 0, pageSize, cursor);
+        }
+        // Page numbers are kept for existing callers, deep pages should follow next_cursor instead.
         int currentPage = request.paramAsInt("currentPage", 1);
         int from = (currentPage - 1) * pageSize;
         return new GetSessionHistoryRequest(sessionId, from, pageSize);
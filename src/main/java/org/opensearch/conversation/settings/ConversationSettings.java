@@ -0,0 +1,199 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.settings;
+
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.unit.ByteSizeUnit;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversation.memory.opensearch.WriteDurability;
+import org.opensearch.conversation.prompt.TokenEstimator;
+
+public final class ConversationSettings {
+
+    private ConversationSettings() {}
+
+    // Off by default: the cache is node-local, so a session whose turns go through several nodes would read stale history
+    public static final Setting<Boolean> HISTORY_CACHE_ENABLED = Setting
+        .boolSetting("plugins.conversation.history_cache.enabled", false, Setting.Property.NodeScope);
+
+    public static final Setting<ByteSizeValue> HISTORY_CACHE_SIZE = Setting
+        .memorySizeSetting("plugins.conversation.history_cache.size", "1%", Setting.Property.NodeScope);
+
+    // Turns written through other nodes are not seen by this node's cache, so a cached window expires this long after
+    // it was loaded, appending turns to it does not extend it
+    public static final Setting<TimeValue> HISTORY_CACHE_EXPIRE_AFTER_LOAD = Setting
+        .positiveTimeSetting(
+            "plugins.conversation.history_cache.expire_after_load",
+            TimeValue.timeValueMinutes(5),
+            Setting.Property.NodeScope
+        );
+
+    public static final Setting<String> MESSAGE_DURABILITY = Setting
+        .simpleString("plugins.conversation.message.durability", "buffered", WriteDurability::from, Setting.Property.NodeScope);
+
+    public static final Setting<Integer> MESSAGE_BULK_ACTIONS = Setting
+        .intSetting("plugins.conversation.message.bulk_actions", 100, 1, Setting.Property.NodeScope);
+
+    public static final Setting<ByteSizeValue> MESSAGE_BULK_SIZE = Setting
+        .byteSizeSetting("plugins.conversation.message.bulk_size", new ByteSizeValue(5, ByteSizeUnit.MB), Setting.Property.NodeScope);
+
+    public static final Setting<TimeValue> MESSAGE_FLUSH_INTERVAL = Setting
+        .positiveTimeSetting("plugins.conversation.message.flush_interval", TimeValue.timeValueMillis(50), Setting.Property.NodeScope);
+
+    // Answer as soon as the model returns and persist the turn in the background
+    public static final Setting<Boolean> MESSAGE_ASYNC_PERSISTENCE = Setting
+        .boolSetting("plugins.conversation.message.async_persistence", false, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    public static final Setting<Integer> MESSAGE_PERSIST_MAX_RETRIES = Setting
+        .intSetting("plugins.conversation.message.persist_max_retries", 3, 0, Setting.Property.NodeScope);
+
+    public static final Setting<TimeValue> MESSAGE_PERSIST_RETRY_BACKOFF = Setting
+        .positiveTimeSetting(
+            "plugins.conversation.message.persist_retry_backoff",
+            TimeValue.timeValueMillis(100),
+            Setting.Property.NodeScope
+        );
+
+    public static final Setting<TimeValue> MESSAGE_ROLLOVER_MAX_AGE = Setting
+        .positiveTimeSetting(
+            "plugins.conversation.message.rollover.max_age",
+            TimeValue.timeValueDays(7),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    public static final Setting<ByteSizeValue> MESSAGE_ROLLOVER_MAX_SIZE = Setting
+        .byteSizeSetting(
+            "plugins.conversation.message.rollover.max_size",
+            new ByteSizeValue(20, ByteSizeUnit.GB),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    public static final Setting<TimeValue> MESSAGE_ROLLOVER_CHECK_INTERVAL = Setting
+        .positiveTimeSetting(
+            "plugins.conversation.message.rollover.check_interval",
+            TimeValue.timeValueMinutes(10),
+            Setting.Property.NodeScope
+        );
+
+    // Message indices rolled over longer ago than this are deleted, -1 keeps them forever
+    public static final Setting<TimeValue> MESSAGE_RETENTION = Setting
+        .timeSetting(
+            "plugins.conversation.message.retention",
+            TimeValue.MINUS_ONE,
+            TimeValue.MINUS_ONE,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    public static final Setting<Integer> CHAT_HISTORY_TOKEN_BUDGET = Setting
+        .intSetting("plugins.conversation.chat_history.token_budget", 4096, 0, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    public static final Setting<String> CHAT_HISTORY_TOKEN_ESTIMATOR = Setting
+        .simpleString(
+            "plugins.conversation.chat_history.token_estimator",
+            "char",
+            TokenEstimator::from,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    // Token budget of the chat history for a given model, e.g. plugins.conversation.model.<model_id>.chat_history.token_budget.
+    // -1 falls back to plugins.conversation.chat_history.token_budget.
+    public static final Setting.AffixSetting<Integer> MODEL_CHAT_HISTORY_TOKEN_BUDGET = Setting
+        .affixKeySetting(
+            "plugins.conversation.model.",
+            "chat_history.token_budget",
+            key -> Setting.intSetting(key, -1, -1, Setting.Property.NodeScope, Setting.Property.Dynamic)
+        );
+
+    // Dotted path of the answer text in the model output, e.g. choices.0.message.content. Empty tries well-known shapes.
+    public static final Setting<String> ANSWER_PATH = Setting
+        .simpleString("plugins.conversation.answer_path", "", Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Answer path for a given model, e.g. plugins.conversation.model.<model_id>.answer_path. Empty falls back to
+    // plugins.conversation.answer_path.
+    public static final Setting.AffixSetting<String> MODEL_ANSWER_PATH = Setting
+        .affixKeySetting(
+            "plugins.conversation.model.",
+            "answer_path",
+            key -> Setting.simpleString(key, "", Setting.Property.NodeScope, Setting.Property.Dynamic)
+        );
+
+    public static final Setting<Boolean> ANSWER_CACHE_ENABLED = Setting
+        .boolSetting("plugins.conversation.answer_cache.enabled", false, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    public static final Setting<ByteSizeValue> ANSWER_CACHE_SIZE = Setting
+        .memorySizeSetting("plugins.conversation.answer_cache.size", "1%", Setting.Property.NodeScope);
+
+    // How long a cached answer is served, in memory and in the index
+    public static final Setting<TimeValue> ANSWER_CACHE_TTL = Setting
+        .positiveTimeSetting("plugins.conversation.answer_cache.ttl", TimeValue.timeValueHours(1), Setting.Property.NodeScope);
+
+    // Whether an answer is only reused for the same chat history, not just the same question
+    public static final Setting<Boolean> ANSWER_CACHE_INCLUDE_HISTORY = Setting
+        .boolSetting("plugins.conversation.answer_cache.include_history", true, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Whether answers are also kept in an index, shared by all nodes and surviving restarts
+    public static final Setting<Boolean> ANSWER_CACHE_INDEX_ENABLED = Setting
+        .boolSetting("plugins.conversation.answer_cache.index.enabled", false, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Number of items of a batch chat request waiting on the model at once
+    public static final Setting<Integer> BATCH_MAX_CONCURRENT_PREDICTS = Setting
+        .intSetting("plugins.conversation.batch.max_concurrent_predicts", 8, 1, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Turns of a session waiting for the running one on a node, further turns of the session are rejected
+    public static final Setting<Integer> SESSION_MAX_QUEUED_TURNS = Setting
+        .intSetting("plugins.conversation.session.max_queued_turns", 10, 1, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Time a batch chat request waits for its items, the items not answered by then fail
+    public static final Setting<TimeValue> BATCH_TIMEOUT = Setting
+        .positiveTimeSetting(
+            "plugins.conversation.batch.timeout",
+            TimeValue.timeValueMinutes(5),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    // Chat requests taking longer than this are logged with their stage timings, -1 disables the slow log
+    public static final Setting<TimeValue> SLOWLOG_THRESHOLD = Setting
+        .timeSetting(
+            "plugins.conversation.slowlog.threshold",
+            TimeValue.MINUS_ONE,
+            TimeValue.MINUS_ONE,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+
+    // Fraction of the slow requests that are logged
+    public static final Setting<Double> SLOWLOG_SAMPLE_RATE = Setting
+        .doubleSetting("plugins.conversation.slowlog.sample_rate", 1.0, 0.0, 1.0, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    public static final Setting<Boolean> SUMMARY_ENABLED = Setting
+        .boolSetting("plugins.conversation.summary.enabled", false, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Number of turns folded into the rolling summary at once
+    public static final Setting<Integer> SUMMARY_INTERVAL = Setting
+        .intSetting("plugins.conversation.summary.interval", 10, 1, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Number of most recent turns always sent verbatim next to the summary
+    public static final Setting<Integer> SUMMARY_RECENT_TURNS = Setting
+        .intSetting("plugins.conversation.summary.recent_turns", 4, 0, Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    // Model used to summarize, the chat model of the session if empty
+    public static final Setting<String> SUMMARY_MODEL_ID = Setting
+        .simpleString("plugins.conversation.summary.model_id", "", Setting.Property.NodeScope, Setting.Property.Dynamic);
+
+    public static final Setting<String> SUMMARY_PROMPT = Setting
+        .simpleString(
+            "plugins.conversation.summary.prompt",
+            "Summarize the conversation in chat_history in a few sentences. Keep the facts needed to answer follow-up questions.",
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+        );
+}
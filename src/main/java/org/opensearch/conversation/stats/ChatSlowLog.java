@@ -0,0 +1,83 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.stats;
+
+import static org.opensearch.conversation.settings.ConversationSettings.SLOWLOG_SAMPLE_RATE;
+import static org.opensearch.conversation.settings.ConversationSettings.SLOWLOG_THRESHOLD;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.conversation.common.StageTimer;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskId;
+
+/**
+ * Logs chat requests slower than a threshold, with their stage timings, instead of logging every request. Only a
+ * sample of the slow requests is logged if the sample rate is below 1, so the cost of the log stays flat when a
+ * slow model makes every request slow.
+ *
+ * Entries go to their own logger, {@code org.opensearch.conversation.slowlog}, so they can be routed to a separate
+ * file. Each entry carries the task id of the request as its trace id, which matches the tasks API, and the
+ * X-Opaque-Id of the caller if there is one.
+ */
+public class ChatSlowLog {
+    private static final Logger SLOW_LOG = LogManager.getLogger("org.opensearch.conversation.slowlog");
+
+    private final ClusterService clusterService;
+    private volatile long thresholdNanos;
+    private volatile double sampleRate;
+
+    public ChatSlowLog(Settings settings, ClusterService clusterService) {
+        this.clusterService = clusterService;
+        setThreshold(SLOWLOG_THRESHOLD.get(settings));
+        this.sampleRate = SLOWLOG_SAMPLE_RATE.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SLOWLOG_THRESHOLD, this::setThreshold);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SLOWLOG_SAMPLE_RATE, it -> sampleRate = it);
+    }
+
+    /**
+     * Log a request if it took longer than the threshold and is sampled.
+     * @param action what the request did, e.g. chat
+     * @param task task of the request
+     * @param sessionId session of the request, may be null
+     * @param timer stage timings of the request
+     * @param failure why the request failed, null if it succeeded
+     */
+    public void maybeLog(String action, Task task, String sessionId, StageTimer timer, Exception failure) {
+        long threshold = thresholdNanos;
+        if (threshold < 0) {
+            return;
+        }
+        long tookNanos = timer.totalNanos();
+        if (tookNanos < threshold) {
+            return;
+        }
+        double rate = sampleRate;
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return;
+        }
+        SLOW_LOG
+            .warn(
+                "{} took[{}], trace_id[{}], opaque_id[{}], session_id[{}], stages[{}], failure[{}]",
+                action,
+                TimeValue.timeValueNanos(tookNanos),
+                new TaskId(clusterService.localNode().getId(), task.getId()),
+                task.getHeader(Task.X_OPAQUE_ID),
+                sessionId,
+                timer,
+                failure == null ? null : failure.toString()
+            );
+    }
+
+    private void setThreshold(TimeValue threshold) {
+        this.thresholdNanos = threshold.nanos() < 0 ? -1 : threshold.nanos();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.common.metrics.CounterMetric;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+
+/**
+ * Node-local latencies and counters of conversation operations, kept for the lifetime of the node. Recording is
+ * lock-free, so the stats are always on.
+ */
+public class ConversationStats {
+    public static final String CHAT = "chat";
+    public static final String BATCH_CHAT = "batch_chat";
+    public static final String HISTORY_FETCH = "history_fetch";
+    public static final String PROMPT = "prompt";
+    public static final String PREDICT = "predict";
+    public static final String METADATA_WRITE = "metadata_write";
+    public static final String MESSAGE_WRITE = "message_write";
+    public static final String BATCH_WRITE = "batch_write";
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, CounterMetric> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Record how long an operation took.
+     * @param operation operation name, e.g. {@link #PREDICT}
+     * @param nanos duration in nanoseconds
+     */
+    public void record(String operation, long nanos) {
+        latencies.computeIfAbsent(operation, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    public void inc(String counter) {
+        counters.computeIfAbsent(counter, key -> new CounterMetric()).inc();
+    }
+
+    /**
+     * Wrap the listener of an operation to record its latency, and count it under {@code <operation>.failed} or
+     * {@code <operation>.rejected} when it fails. Failures are recorded too, so timeouts show up in the percentiles.
+     */
+    public <T> ActionListener<T> timed(String operation, ActionListener<T> listener) {
+        long startNanos = System.nanoTime();
+        return new ActionListener<T>() {
+            @Override
+            public void onResponse(T response) {
+                record(operation, System.nanoTime() - startNanos);
+                listener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                record(operation, System.nanoTime() - startNanos);
+                if (ExceptionsHelper.unwrapCause(e) instanceof OpenSearchRejectedExecutionException) {
+                    inc(operation + ".rejected");
+                } else {
+                    inc(operation + ".failed");
+                }
+                listener.onFailure(e);
+            }
+        };
+    }
+
+    public Map<String, LatencyHistogram.Snapshot> latencies() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        latencies.forEach((operation, histogram) -> snapshots.put(operation, histogram.snapshot()));
+        return snapshots;
+    }
+
+    public Map<String, Long> counters() {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((counter, metric) -> counts.put(counter, metric.count()));
+        return counts;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.stats;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+/**
+ * Latency histogram with log-linear buckets in microseconds: each power of two is split into 8 buckets, so a
+ * percentile is off by at most 12.5% of its value. Every bucket is a {@link LongAdder}, recording never locks and
+ * concurrent recorders don't contend on one counter.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Latencies above 2^36 microseconds, about 19 hours, land in the last bucket
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        buckets[bucket(micros)].increment();
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    /**
+     * A copy of the current counts. Counts recorded while the copy is taken may or may not be in it.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new Snapshot(total, sumMicros.sum(), maxMicros.get(), counts);
+    }
+
+    static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        if (exponent == MAX_EXPONENT && micros >= 2L << MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Highest latency in microseconds counted in a bucket.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Counts of a histogram at one point in time.
+     */
+    public static class Snapshot implements ToXContentObject, Writeable {
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+        private final long[] counts;
+
+        Snapshot(long count, long sumMicros, long maxMicros, long[] counts) {
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+            this.counts = counts;
+        }
+
+        public Snapshot(StreamInput in) throws IOException {
+            this.count = in.readVLong();
+            this.sumMicros = in.readVLong();
+            this.maxMicros = in.readVLong();
+            this.counts = in.readVLongArray();
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getAverageMicros() {
+            return count == 0 ? 0 : sumMicros / count;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        /**
+         * Latency in microseconds that the given fraction of the recorded latencies don't exceed, rounded up to the
+         * bucket it falls in.
+         * @param quantile between 0 and 1, e.g. 0.99
+         */
+        public long percentileMicros(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(count);
+            out.writeVLong(sumMicros);
+            out.writeVLong(maxMicros);
+            out.writeVLongArray(counts);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("count", count);
+            builder.field("avg_micros", getAverageMicros());
+            builder.field("p50_micros", percentileMicros(0.5));
+            builder.field("p90_micros", percentileMicros(0.9));
+            builder.field("p99_micros", percentileMicros(0.99));
+            builder.field("max_micros", maxMicros);
+            builder.endObject();
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.transport;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.conversation.response.BatchChatResponse;
+
+public class BatchChatAction extends ActionType<BatchChatResponse> {
+    public static BatchChatAction INSTANCE = new BatchChatAction();
+    public static final String NAME = "cluster:admin/opensearch/conversation/chat/batch";
+
+    private BatchChatAction() {
+        super(NAME, BatchChatResponse::new);
+    }
+}
@@ -0,0 +1,18 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.transport;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.conversation.response.ConversationStatsResponse;
+
+public class ConversationStatsAction extends ActionType<ConversationStatsResponse> {
+    public static ConversationStatsAction INSTANCE = new ConversationStatsAction();
+    public static final String NAME = "cluster:monitor/opensearch/conversation/stats";
+
+    private ConversationStatsAction() {
+        super(NAME, ConversationStatsResponse::new);
+    }
+}
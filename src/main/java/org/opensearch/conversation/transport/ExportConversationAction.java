@@ -0,0 +1,18 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.transport;
+
+import org.opensearch.action.ActionType;
+import org.opensearch.conversation.response.ExportConversationResponse;
+
+public class ExportConversationAction extends ActionType<ExportConversationResponse> {
+    public static ExportConversationAction INSTANCE = new ExportConversationAction();
+    public static final String NAME = "cluster:admin/opensearch/conversation/export";
+
+    private ExportConversationAction() {
+        super(NAME, ExportConversationResponse::new);
+    }
+}
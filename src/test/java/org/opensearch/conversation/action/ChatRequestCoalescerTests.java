@@ -0,0 +1,182 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.action;
+
+import static org.opensearch.conversation.common.CommonValue.QUESTION_FIELD;
+import static org.opensearch.conversation.settings.ConversationSettings.SESSION_MAX_QUEUED_TURNS;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Setting;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchRejectedExecutionException;
+import org.opensearch.conversation.input.ChatInput;
+import org.opensearch.conversation.response.ChatResponse;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+public class ChatRequestCoalescerTests extends OpenSearchTestCase {
+    private ThreadPool threadPool;
+    private ChatRequestCoalescer coalescer;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new TestThreadPool(getTestName());
+        Settings settings = Settings.builder().put(SESSION_MAX_QUEUED_TURNS.getKey(), 2).build();
+        Set<Setting<?>> settingsSet = new HashSet<>(ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        settingsSet.add(SESSION_MAX_QUEUED_TURNS);
+        ClusterSettings clusterSettings = new ClusterSettings(settings, settingsSet);
+        coalescer = new ChatRequestCoalescer(settings, new ClusterService(settings, clusterSettings, threadPool), threadPool);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
+    public void testTurnsOfASessionRunInOrder() throws Exception {
+        List<Integer> started = new CopyOnWriteArrayList<>();
+        List<Releasable> sessions = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int turn = i;
+            coalescer.acquireSession("session", ActionListener.wrap(session -> {
+                started.add(turn);
+                sessions.add(session);
+            }, e -> fail(e.getMessage())));
+        }
+        assertEquals(List.of(0), started);
+        assertEquals(2, coalescer.getQueued());
+
+        sessions.get(0).close();
+        assertBusy(() -> assertEquals(List.of(0, 1), started));
+        // Releasing twice doesn't let a turn skip the queue
+        sessions.get(0).close();
+        assertEquals(List.of(0, 1), started);
+
+        sessions.get(1).close();
+        assertBusy(() -> assertEquals(List.of(0, 1, 2), started));
+    }
+
+    public void testSessionsDontWaitForEachOther() {
+        AtomicInteger started = new AtomicInteger();
+        coalescer.acquireSession("first", ActionListener.wrap(session -> started.incrementAndGet(), e -> fail(e.getMessage())));
+        coalescer.acquireSession("second", ActionListener.wrap(session -> started.incrementAndGet(), e -> fail(e.getMessage())));
+        coalescer.acquireSession(null, ActionListener.wrap(session -> started.incrementAndGet(), e -> fail(e.getMessage())));
+        coalescer.acquireSession(null, ActionListener.wrap(session -> started.incrementAndGet(), e -> fail(e.getMessage())));
+        assertEquals(4, started.get());
+        assertEquals(0, coalescer.getQueued());
+    }
+
+    public void testFullSessionQueueRejects() {
+        for (int i = 0; i < 3; i++) {
+            coalescer.acquireSession("session", ActionListener.wrap(session -> {}, e -> fail(e.getMessage())));
+        }
+        PlainActionFuture<Releasable> rejected = PlainActionFuture.newFuture();
+        coalescer.acquireSession("session", rejected);
+        expectThrows(OpenSearchRejectedExecutionException.class, rejected::actionGet);
+    }
+
+    public void testIdenticalRequestsAreCoalesced() throws Exception {
+        ChatInput chatInput = chatInput("session", null);
+        AtomicInteger runs = new AtomicInteger();
+        AtomicReference<ActionListener<ChatResponse>> running = new AtomicReference<>();
+        PlainActionFuture<ChatResponse> first = PlainActionFuture.newFuture();
+        PlainActionFuture<ChatResponse> second = PlainActionFuture.newFuture();
+        coalescer.execute(chatInput, "user", first, (listener, session) -> {
+            runs.incrementAndGet();
+            running.set(ActionListener.runAfter(listener, session::close));
+        });
+        coalescer.execute(chatInput, "user", second, (listener, session) -> runs.incrementAndGet());
+
+        running.get().onResponse(new ChatResponse("session", "answer"));
+        assertEquals("answer", first.actionGet(10, TimeUnit.SECONDS).getAnswer());
+        assertEquals("answer", second.actionGet(10, TimeUnit.SECONDS).getAnswer());
+        assertEquals(1, runs.get());
+        assertEquals(1, coalescer.getCoalesced());
+
+        // Without an idempotency key the response isn't kept, the same question asked again runs again
+        coalescer.execute(chatInput, "user", PlainActionFuture.newFuture(), (listener, session) -> runs.incrementAndGet());
+        assertBusy(() -> assertEquals(2, runs.get()));
+        assertEquals(0, coalescer.getReplayed());
+    }
+
+    public void testRequestsOfOtherUsersAreNotCoalesced() throws Exception {
+        ChatInput chatInput = chatInput("session", null);
+        AtomicInteger runs = new AtomicInteger();
+        coalescer.execute(chatInput, "user", PlainActionFuture.newFuture(), (listener, session) -> {
+            runs.incrementAndGet();
+            session.close();
+        });
+        coalescer.execute(chatInput, "other", PlainActionFuture.newFuture(), (listener, session) -> {
+            runs.incrementAndGet();
+            session.close();
+        });
+        assertBusy(() -> assertEquals(2, runs.get()));
+        assertEquals(0, coalescer.getCoalesced());
+    }
+
+    public void testIdempotentResponseIsReplayed() throws Exception {
+        ChatInput chatInput = chatInput("session", "request");
+        AtomicInteger runs = new AtomicInteger();
+        PlainActionFuture<ChatResponse> first = PlainActionFuture.newFuture();
+        coalescer.execute(chatInput, "user", first, (listener, session) -> {
+            runs.incrementAndGet();
+            listener.onResponse(new ChatResponse("session", "answer"));
+            session.close();
+        });
+        assertEquals("answer", first.actionGet(10, TimeUnit.SECONDS).getAnswer());
+
+        PlainActionFuture<ChatResponse> retry = PlainActionFuture.newFuture();
+        coalescer.execute(chatInput, "user", retry, (listener, session) -> runs.incrementAndGet());
+        assertEquals("answer", retry.actionGet(10, TimeUnit.SECONDS).getAnswer());
+        assertEquals(1, runs.get());
+        assertEquals(1, coalescer.getReplayed());
+
+        // The same key of another user is another request
+        coalescer.execute(chatInput, "other", PlainActionFuture.newFuture(), (listener, session) -> runs.incrementAndGet());
+        assertBusy(() -> assertEquals(2, runs.get()));
+    }
+
+    public void testFailedRequestIsNotReplayed() throws Exception {
+        ChatInput chatInput = chatInput("session", "request");
+        AtomicInteger runs = new AtomicInteger();
+        PlainActionFuture<ChatResponse> first = PlainActionFuture.newFuture();
+        coalescer.execute(chatInput, "user", first, (listener, session) -> {
+            runs.incrementAndGet();
+            listener.onFailure(new IllegalStateException("failed"));
+            session.close();
+        });
+        expectThrows(IllegalStateException.class, first::actionGet);
+
+        PlainActionFuture<ChatResponse> retry = PlainActionFuture.newFuture();
+        coalescer.execute(chatInput, "user", retry, (listener, session) -> {
+            runs.incrementAndGet();
+            listener.onResponse(new ChatResponse("session", "answer"));
+            session.close();
+        });
+        assertEquals("answer", retry.actionGet(10, TimeUnit.SECONDS).getAnswer());
+        assertEquals(2, runs.get());
+    }
+
+    private static ChatInput chatInput(String sessionId, String requestId) {
+        return new ChatInput(sessionId, "model", Map.of(QUESTION_FIELD, "question"), requestId);
+    }
+}
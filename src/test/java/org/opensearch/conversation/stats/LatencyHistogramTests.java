@@ -0,0 +1,78 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.conversation.stats;
+
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+public class LatencyHistogramTests extends OpenSearchTestCase {
+    private static final int LAST_BUCKET = LatencyHistogram.bucket(Long.MAX_VALUE);
+
+    public void testSmallLatenciesHaveTheirOwnBucket() {
+        for (int micros = 0; micros < 8; micros++) {
+            assertEquals(micros, LatencyHistogram.bucket(micros));
+            assertEquals(micros, LatencyHistogram.upperBound(micros));
+        }
+    }
+
+    public void testBucketsAreContiguous() {
+        for (int bucket = 0; bucket < LAST_BUCKET; bucket++) {
+            long upperBound = LatencyHistogram.upperBound(bucket);
+            assertEquals(bucket, LatencyHistogram.bucket(upperBound));
+            assertEquals(bucket + 1, LatencyHistogram.bucket(upperBound + 1));
+        }
+    }
+
+    public void testBucketWidthIsBoundedByItsValue() {
+        for (int bucket = 8; bucket <= LAST_BUCKET; bucket++) {
+            long lowest = LatencyHistogram.upperBound(bucket - 1) + 1;
+            long width = LatencyHistogram.upperBound(bucket) - lowest + 1;
+            assertTrue("bucket " + bucket, width * 8 <= lowest);
+        }
+    }
+
+    public void testLatencyFallsInItsBucket() {
+        for (int i = 0; i < 1000; i++) {
+            long micros = randomLongBetween(0, 1L << 37);
+            int bucket = LatencyHistogram.bucket(micros);
+            assertTrue("micros " + micros, micros <= LatencyHistogram.upperBound(bucket));
+            assertTrue("micros " + micros, bucket == 0 || micros > LatencyHistogram.upperBound(bucket - 1));
+        }
+    }
+
+    public void testHugeLatenciesLandInTheLastBucket() {
+        assertEquals(LAST_BUCKET, LatencyHistogram.bucket(1L << 40));
+        assertEquals(LAST_BUCKET, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50_500, snapshot.getAverageMicros());
+        assertEquals(100_000, snapshot.getMaxMicros());
+        assertWithinBucket(50_000, snapshot.percentileMicros(0.5));
+        assertWithinBucket(90_000, snapshot.percentileMicros(0.9));
+        // The bucket of 99ms also holds the maximum, which caps it
+        assertEquals(100_000, snapshot.percentileMicros(0.99));
+        assertEquals(100_000, snapshot.percentileMicros(1));
+    }
+
+    public void testEmptySnapshot() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getAverageMicros());
+        assertEquals(0, snapshot.percentileMicros(0.99));
+    }
+
+    private static void assertWithinBucket(long expectedMicros, long actualMicros) {
+        assertEquals(LatencyHistogram.upperBound(LatencyHistogram.bucket(expectedMicros)), actualMicros);
+    }
+}